@@ -0,0 +1,107 @@
+package com.fooddelivery.common.config;
+
+import com.fooddelivery.common.enums.OrderStatus;
+import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OrderEventSerializer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Events/sec that the order-events producer sustains under each {@link ProducerProfile}.
+ * Each invocation sends a burst of events across many order keys, flushes and waits for every
+ * ack, the same way OutboxRelay drains a batch.
+ * <p>
+ * It runs against an in-process KRaft broker by default. Pass
+ * {@code -Djmh.args="-jvmArgs -Dkafka.bootstrap=localhost:9092"} to use a local broker instead.
+ * Absolute numbers depend on the broker; compare the profiles with each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class KafkaProducerProfileBenchmark {
+
+    private static final String TOPIC = "order-events-bench";
+    private static final int EVENTS_PER_BURST = 2_000;
+    private static final int ORDER_KEYS = 500;
+
+    @Param({"THROUGHPUT", "LATENCY"})
+    public ProducerProfile profile;
+
+    private EmbeddedKafkaBroker broker;
+    private KafkaProducer<String, OrderEvent> producer;
+    private String[] keys;
+    private OrderEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String bootstrap = System.getProperty("kafka.bootstrap");
+        if (bootstrap == null) {
+            broker = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+            broker.afterPropertiesSet();
+            bootstrap = broker.getBrokersAsString();
+        }
+
+        Map<String, Object> props = new HashMap<>(profile.settings());
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, OrderEventSerializer.class);
+        producer = new KafkaProducer<>(props);
+
+        keys = new String[ORDER_KEYS];
+        for (int i = 0; i < ORDER_KEYS; i++) {
+            keys[i] = "ORD00BTK3W9R" + String.format("%03d", i);
+        }
+        event = OrderEvent.builder()
+                .eventId(1L)
+                .orderId(1042L)
+                .orderNumber(keys[0])
+                .customerId(17L)
+                .restaurantId(3L)
+                .status(OrderStatus.ACCEPTED)
+                .totalAmount(new BigDecimal("735.64"))
+                .timestamp(LocalDateTime.now())
+                .eventType("ORDER_ACCEPTED")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        if (broker != null) {
+            broker.destroy();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BURST)
+    public void sendBurst() throws InterruptedException {
+        CountDownLatch acks = new CountDownLatch(EVENTS_PER_BURST);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < EVENTS_PER_BURST; i++) {
+            producer.send(new ProducerRecord<>(TOPIC, keys[i % ORDER_KEYS], event), (metadata, e) -> {
+                if (e != null) {
+                    failure.compareAndSet(null, e);
+                }
+                acks.countDown();
+            });
+        }
+        producer.flush();
+        acks.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Send failed", failure.get());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.fooddelivery.common.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost, with and without the verified-claims cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-characters-long";
+
+    private JwtTokenProvider provider;
+    private JwtTokenProvider cachingProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000, 7_200_000);
+        cachingProvider = new JwtTokenProvider(SECRET, 3_600_000, 7_200_000, true, 10_000, Duration.ofMinutes(5));
+        authentication = new UsernamePasswordAuthenticationToken(
+                "customer@fooddelivery.com", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+        token = provider.generateToken(authentication, 42L);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken(authentication, 42L);
+    }
+
+    @Benchmark
+    public Claims resolveClaims() {
+        return provider.resolveClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Claims resolveClaimsCached() {
+        return cachingProvider.resolveClaims(token).orElseThrow();
+    }
+
+    // Filter behaviour before single-parse: validate, then subject, then claims
+    @Benchmark
+    public Claims validateThenReadTwice() {
+        provider.validateToken(token);
+        provider.getUsernameFromToken(token);
+        return provider.getClaims(token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.fooddelivery.order.event;
+
+import com.fooddelivery.common.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON versus the compact binary encoding of order-events values, both directions.
+ * Payload sizes for the sample event are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderEventSerializationBenchmark {
+
+    private static final String TOPIC = "order-events";
+
+    private JsonSerializer<OrderEvent> serializer;
+    private JsonDeserializer<OrderEvent> deserializer;
+    private OrderEventSerializer binarySerializer;
+    private OrderEventDeserializer binaryDeserializer;
+    private OrderEvent event;
+    private byte[] payload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.setAddTypeInfo(false);
+        deserializer = new JsonDeserializer<>(OrderEvent.class, false);
+        binarySerializer = new OrderEventSerializer();
+        binaryDeserializer = new OrderEventDeserializer();
+
+        event = OrderEvent.builder()
+                .eventId(88213L)
+                .orderId(1042L)
+                .orderNumber("ORD00BTK3W9R40G")
+                .customerId(17L)
+                .restaurantId(3L)
+                .status(OrderStatus.ACCEPTED)
+                .totalAmount(new BigDecimal("735.64"))
+                .timestamp(LocalDateTime.now())
+                .eventType("ORDER_ACCEPTED")
+                .build();
+        payload = serializer.serialize(TOPIC, event);
+        binaryPayload = binarySerializer.serialize(TOPIC, event);
+        System.out.printf("%nOrderEvent payload: json=%d bytes, binary=%d bytes%n", payload.length, binaryPayload.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public OrderEvent deserialize() {
+        return deserializer.deserialize(TOPIC, payload);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public OrderEvent binaryDeserialize() {
+        return binaryDeserializer.deserialize(TOPIC, binaryPayload);
+    }
+}
@@ -0,0 +1,126 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.enums.OrderStatus;
+import com.fooddelivery.common.money.Money;
+import com.fooddelivery.order.dto.CartItemRequest;
+import com.fooddelivery.order.dto.OrderResponse;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderItem;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.service.MenuSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing and response mapping from {@link OrderService#placeOrder}, without the repositories.
+ * {@code arithmeticBigDecimal} repeats the line, subtotal and tax arithmetic of the previous
+ * BigDecimal pricing as a baseline for {@code arithmeticMoney}; run with {@code -prof gc} to compare
+ * bytes allocated per order. The totals of both are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderPricingBenchmark {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.18");
+    private static final BigDecimal DELIVERY_FEE = new BigDecimal("30.00");
+
+    @Param({"1", "5", "15"})
+    private int cartSize;
+
+    private MenuSnapshot menu;
+    private List<MenuItem> menuItems;
+    private List<CartItemRequest> cart;
+    private Order pricedOrder;
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        menuItems = new ArrayList<>();
+        cart = new ArrayList<>();
+        for (long id = 1; id <= cartSize; id++) {
+            MenuItem item = MenuItem.builder()
+                    .name("Item " + id)
+                    .price(new BigDecimal("149.49").add(BigDecimal.valueOf(id)))
+                    .available(true)
+                    .build();
+            item.setId(id);
+            menuItems.add(item);
+
+            CartItemRequest line = new CartItemRequest();
+            line.setMenuItemId(id);
+            line.setQuantity((int) (id % 3) + 1);
+            cart.add(line);
+        }
+        menu = MenuSnapshot.of(1L, 1L, menuItems);
+
+        pricedOrder = price();
+        pricedOrder.setId(1L);
+        pricedOrder.setOrderNumber("ORD1705314600000");
+        pricedOrder.setCreatedAt(LocalDateTime.now());
+        pricedOrder.setUpdatedAt(LocalDateTime.now());
+
+        BigDecimal[] baseline = priceBigDecimal();
+        System.out.printf("%nTotals for %d lines: BigDecimal tax=%s total=%s (stored as %s), Money tax=%s total=%s%n",
+                cartSize, baseline[1], baseline[2], baseline[2].setScale(2, RoundingMode.HALF_UP),
+                pricedOrder.getTax(), pricedOrder.getTotalAmount());
+
+        orderService = new OrderService(null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Order priceOrder() {
+        return price();
+    }
+
+    @Benchmark
+    public BigDecimal[] arithmeticBigDecimal() {
+        return priceBigDecimal();
+    }
+
+    @Benchmark
+    public Money arithmeticMoney() {
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < cart.size(); i++) {
+            int index = menu.indexOf(cart.get(i).getMenuItemId());
+            subtotal = subtotal.plus(Money.ofMinorUnits(menu.priceCents(index)).times(cart.get(i).getQuantity()));
+        }
+        Money tax = subtotal.multiply(18, 100, RoundingMode.HALF_UP);
+        return subtotal.plus(Money.of(DELIVERY_FEE)).plus(tax);
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return orderService.mapToResponse(pricedOrder);
+    }
+
+    private Order price() {
+        List<OrderItem> items = OrderService.priceItems(menu, cart);
+        Order order = Order.builder()
+                .customerId(10L)
+                .restaurantId(1L)
+                .status(OrderStatus.PLACED)
+                .orderItems(items)
+                .build();
+        OrderService.applyTotals(order, items, DELIVERY_FEE);
+        return order;
+    }
+
+    // Line totals, subtotal and tax as OrderService computed them before Money; returns {subtotal, tax, total}
+    private BigDecimal[] priceBigDecimal() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < cart.size(); i++) {
+            CartItemRequest line = cart.get(i);
+            BigDecimal lineTotal = menuItems.get(i).getPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+            subtotal = subtotal.add(lineTotal);
+        }
+        BigDecimal tax = subtotal.multiply(TAX_RATE);
+        return new BigDecimal[] {subtotal, tax, subtotal.add(DELIVERY_FEE).add(tax)};
+    }
+}
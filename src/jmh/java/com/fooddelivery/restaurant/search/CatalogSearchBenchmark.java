@@ -0,0 +1,81 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches against a synthetic catalog of {@code restaurants} restaurants with 30 dishes each,
+ * built from small word lists so that common terms have long posting lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CatalogSearchBenchmark {
+
+    private static final String[] CUISINES = {"North Indian", "South Indian", "Chinese", "Italian", "Mughlai", "Street Food"};
+    private static final String[] CITIES = {"Mumbai", "Pune", "Delhi", "Bengaluru", "Chennai"};
+    private static final String[] DISH_WORDS = {"paneer", "chicken", "mutton", "veg", "masala", "tikka", "biryani",
+            "butter", "dal", "naan", "dosa", "idli", "noodles", "fried", "rice", "pizza", "pasta", "kebab", "curry", "roll"};
+    private static final String[] CATEGORIES = {"Starters", "Mains", "Breads", "Rice", "Desserts", "Beverages"};
+
+    @Param({"1000", "10000"})
+    private int restaurants;
+
+    @Param({"biryani", "chi", "paneer tikka"})
+    private String query;
+
+    private CatalogSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new CatalogSearchIndex();
+        long itemId = 1;
+        for (long id = 1; id <= restaurants; id++) {
+            Restaurant restaurant = Restaurant.builder()
+                    .name(word(random) + " " + word(random) + " House")
+                    .cuisineType(CUISINES[random.nextInt(CUISINES.length)])
+                    .city(CITIES[random.nextInt(CITIES.length)])
+                    .description("Serving " + word(random) + " and " + word(random) + " since " + (1980 + random.nextInt(40)))
+                    .status(RestaurantStatus.ACTIVE)
+                    .build();
+            restaurant.setId(id);
+
+            List<MenuItem> items = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                MenuItem item = MenuItem.builder()
+                        .name(word(random) + " " + word(random))
+                        .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                        .price(BigDecimal.valueOf(99 + random.nextInt(400)))
+                        .available(true)
+                        .build();
+                item.setId(itemId++);
+                items.add(item);
+            }
+            index.index(restaurant, items);
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantSearchResult> search() {
+        return index.search(query, null, 20);
+    }
+
+    @Benchmark
+    public List<RestaurantSearchResult> searchInCity() {
+        return index.search(query, "Pune", 20);
+    }
+
+    private static String word(Random random) {
+        return DISH_WORDS[random.nextInt(DISH_WORDS.length)];
+    }
+}
@@ -0,0 +1,135 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One page of an owner's restaurants, against an in-memory H2 database holding {@code restaurants}
+ * outlets for that owner plus 1000 for other owners. {@code pageInDatabase} is
+ * {@link RestaurantService#getByOwner}; {@code loadAllThenSubList} repeats the previous
+ * implementation, which loaded every restaurant of the owner and sliced the list in Java.
+ * Hibernate and the second-level cache are configured as in application.yml; only the database
+ * differs, so compare the two methods with each other rather than with production latencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OwnerRestaurantPagingBenchmark {
+
+    private static final long OWNER_ID = 7L;
+    private static final int OTHER_RESTAURANTS = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int restaurants;
+
+    @Param({"0", "40"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private RestaurantRepository restaurantRepository;
+    private RestaurantService restaurantService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they win over application.yml
+        context = new SpringApplicationBuilder(PagingContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:ownerpaging;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.fooddelivery=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        restaurantRepository = context.getBean(RestaurantRepository.class);
+        restaurantService = new RestaurantService(restaurantRepository, null, null);
+
+        List<Restaurant> rows = new ArrayList<>(restaurants + OTHER_RESTAURANTS);
+        for (int i = 0; i < restaurants + OTHER_RESTAURANTS; i++) {
+            rows.add(restaurant(i, i < restaurants ? OWNER_ID : 100L + i % 50));
+        }
+        // Interleave owners so the owner's rows are not one contiguous block
+        Collections.shuffle(rows, new Random(42));
+        restaurantRepository.saveAll(rows);
+
+        pageable = PageRequest.of(page, PAGE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> pageInDatabase() {
+        return restaurantService.getByOwner(OWNER_ID, pageable);
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> loadAllThenSubList() {
+        List<Restaurant> all = restaurantRepository.findByOwnerId(OWNER_ID);
+        int start = (int) pageable.getOffset();
+        int end = Math.min(start + pageable.getPageSize(), all.size());
+        List<Restaurant> paged = start < all.size() ? all.subList(start, end) : Collections.emptyList();
+        return new PageImpl<>(
+                paged.stream().map(restaurantService::mapToResponse).collect(Collectors.toList()),
+                pageable,
+                all.size());
+    }
+
+    private static Restaurant restaurant(int i, long ownerId) {
+        return Restaurant.builder()
+                .name("Outlet " + i)
+                .description("Wood-fired pizzas")
+                .address(i + " MG Road")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .status(RestaurantStatus.ACTIVE)
+                .ownerId(ownerId)
+                .estimatedDeliveryTimeMinutes(30)
+                .minimumOrderAmount(new BigDecimal("199.00"))
+                .deliveryFee(new BigDecimal("30.00"))
+                .cuisineType("Italian")
+                .build();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Restaurant.class)
+    @EnableJpaRepositories(basePackageClasses = RestaurantRepository.class)
+    static class PagingContext {
+    }
+}
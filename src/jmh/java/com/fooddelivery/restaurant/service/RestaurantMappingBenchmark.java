@@ -0,0 +1,44 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RestaurantMappingBenchmark {
+
+    private Restaurant restaurant;
+    private RestaurantService restaurantService;
+
+    @Setup
+    public void setUp() {
+        restaurant = Restaurant.builder()
+                .name("Pizza Palace")
+                .description("Wood-fired pizzas")
+                .address("12 MG Road")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .status(RestaurantStatus.ACTIVE)
+                .ownerId(3L)
+                .estimatedDeliveryTimeMinutes(30)
+                .minimumOrderAmount(new BigDecimal("199.00"))
+                .deliveryFee(new BigDecimal("30.00"))
+                .cuisineType("Italian")
+                .build();
+        restaurant.setId(1L);
+
+        restaurantService = new RestaurantService(null, null, null);
+    }
+
+    @Benchmark
+    public RestaurantResponse mapToResponse() {
+        return restaurantService.mapToResponse(restaurant);
+    }
+}
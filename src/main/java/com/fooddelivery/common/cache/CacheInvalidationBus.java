@@ -0,0 +1,19 @@
+package com.fooddelivery.common.cache;
+
+/**
+ * Broadcasts cache invalidations to every instance so their in-process copies can be dropped.
+ */
+public interface CacheInvalidationBus {
+    
+    /**
+     * @param key the evicted key as a string, or null when the whole cache was cleared
+     */
+    void publish(String cacheName, String key);
+    
+    void subscribe(Listener listener);
+    
+    @FunctionalInterface
+    interface Listener {
+        void onInvalidation(String cacheName, String key);
+    }
+}
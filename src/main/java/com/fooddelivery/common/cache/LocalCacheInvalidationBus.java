@@ -0,0 +1,28 @@
+package com.fooddelivery.common.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers invalidations synchronously within this JVM. Only correct for a single instance
+ * (local dev) or for tests that run several cache managers side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "local")
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+    
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(String cacheName, String key) {
+        listeners.forEach(listener -> listener.onInvalidation(cacheName, key));
+    }
+    
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fooddelivery.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared bus: invalidations are published on a Redis channel that every instance subscribes to.
+ * Pub/sub is fire-and-forget, so a node that misses a message keeps its stale copy until the
+ * near-cache TTL expires it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener {
+    
+    public static final String CHANNEL = "cache:invalidation";
+    
+    // "<cache>" clears the cache, "<cache> <key>" evicts one key; cache names have no spaces
+    private static final char SEPARATOR = ' ';
+    
+    private final StringRedisTemplate redisTemplate;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+    
+    @Override
+    public void publish(String cacheName, String key) {
+        redisTemplate.convertAndSend(CHANNEL, key == null ? cacheName : cacheName + SEPARATOR + key);
+    }
+    
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        String cacheName = separator < 0 ? body : body.substring(0, separator);
+        String key = separator < 0 ? null : body.substring(separator + 1);
+        for (Listener listener : listeners) {
+            try {
+                listener.onInvalidation(cacheName, key);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation of {} {} failed", cacheName, key, e);
+            }
+        }
+    }
+}
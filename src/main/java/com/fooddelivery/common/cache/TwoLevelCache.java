@@ -0,0 +1,314 @@
+package com.fooddelivery.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded in-process cache (L1) in front of a shared cache (L2).
+ * <p>
+ * Reads try L1, then L2, and copy L2 hits into L1. Writes go to both. Evictions and clears hit
+ * L2 and the local L1, then are broadcast so the other instances drop their L1 copies. L1 keys
+ * are the string form of the cache key, which is also what travels on the bus.
+ * <p>
+ * {@link #get(Object, Callable)}, used by {@code @Cacheable(sync = true)}, loads each missing key
+ * once per instance: concurrent callers for the same key wait on the first caller's load. With a
+ * refresh interval set, an L1 copy older than it is still returned while a single background
+ * load replaces it (stale-while-revalidate); the L1 TTL bounds how stale it can get.
+ * <p>
+ * Lookups are counted per tier as {@code cache.tier.gets} and summarised as
+ * {@code cache.tier.hit.ratio}, tagged with the cache name and {@code l1} or {@code l2}.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+    
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Stamped> local;
+    private final Cache shared;
+    private final CacheInvalidationBus bus;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    
+    // Loads in progress on this instance, one per key
+    private final Map<String, Load> loads = new ConcurrentHashMap<>();
+    
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    
+    /**
+     * @param refreshAfter    age after which an L1 copy is reloaded in the background;
+     *                        zero or null turns stale-while-revalidate off
+     * @param refreshExecutor runs those background loads
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Stamped> local,
+                         Cache shared, CacheInvalidationBus bus, MeterRegistry meterRegistry,
+                         Duration refreshAfter, Executor refreshExecutor) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.bus = bus;
+        this.refreshAfterNanos = refreshAfter == null ? 0 : refreshAfter.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        registerTier(meterRegistry, "l1", localHits, localMisses);
+        registerTier(meterRegistry, "l2", sharedHits, sharedMisses);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Stamped cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(cached.value());
+        }
+        localMisses.increment();
+        
+        ValueWrapper wrapper = shared.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            sharedMisses.increment();
+            return null;
+        }
+        sharedHits.increment();
+        local.put(localKey, Stamped.now(wrapper.get()));
+        return wrapper;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Stamped cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            if (refreshAfterNanos > 0 && cached.ageNanos() > refreshAfterNanos) {
+                refreshInBackground(key, localKey, valueLoader);
+            }
+            return (T) cached.value();
+        }
+        localMisses.increment();
+        
+        Load load = new Load();
+        Load running = loads.putIfAbsent(localKey, load);
+        if (running != null) {
+            return (T) await(running, key, valueLoader);
+        }
+        run(load, key, localKey, valueLoader);
+        return (T) await(load, key, valueLoader);
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        if (value == null) {
+            local.invalidate(localKey(key));
+        } else {
+            local.put(localKey(key), Stamped.now(value));
+        }
+    }
+    
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = shared.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            local.put(localKey(key), Stamped.now(current));
+        }
+        return existing;
+    }
+    
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        invalidateLocal(localKey(key));
+        bus.publish(name, localKey(key));
+    }
+    
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = shared.evictIfPresent(key);
+        invalidateLocal(localKey(key));
+        bus.publish(name, localKey(key));
+        return present;
+    }
+    
+    @Override
+    public void clear() {
+        shared.clear();
+        invalidateLocal(null);
+        bus.publish(name, null);
+    }
+    
+    @Override
+    public boolean invalidate() {
+        boolean present = shared.invalidate();
+        invalidateLocal(null);
+        bus.publish(name, null);
+        return present;
+    }
+    
+    /**
+     * Drops this instance's L1 copy only; called for invalidations received from the bus.
+     * A load already running for the key still answers the callers waiting on it, but no
+     * longer writes its result, which may predate the change, and later callers start anew.
+     *
+     * @param key the key's string form, or null for the whole cache
+     */
+    void invalidateLocal(String key) {
+        if (key == null) {
+            loads.keySet().forEach(this::discardLoad);
+            local.invalidateAll();
+        } else {
+            discardLoad(key);
+            local.invalidate(key);
+        }
+    }
+    
+    private void discardLoad(String key) {
+        Load load = loads.remove(key);
+        if (load != null) {
+            load.discarded = true;
+        }
+    }
+    
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+    
+    private void refreshInBackground(Object key, String localKey, Callable<?> valueLoader) {
+        Load load = new Load();
+        if (loads.putIfAbsent(localKey, load) != null) {
+            return; // a load is already on its way
+        }
+        try {
+            refreshExecutor.execute(() -> run(load, key, localKey, valueLoader));
+        } catch (RejectedExecutionException e) {
+            // Keep serving the stale copy; the next read tries again
+            loads.remove(localKey, load);
+            load.result.cancel(false);
+        }
+    }
+    
+    /**
+     * Fills the key from L2, or from the loader when L2 misses as well. Refreshes read L2 too:
+     * while L2 holds an entry it is the shared current value.
+     */
+    private void run(Load load, Object key, String localKey, Callable<?> valueLoader) {
+        try {
+            Object value;
+            ValueWrapper wrapper = shared.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                sharedHits.increment();
+                value = wrapper.get();
+            } else {
+                sharedMisses.increment();
+                value = valueLoader.call();
+                if (value != null && !load.discarded) {
+                    shared.put(key, value);
+                }
+            }
+            if (value != null && !load.discarded) {
+                local.put(localKey, Stamped.now(value));
+            }
+            load.result.complete(value);
+        } catch (Throwable e) {
+            log.debug("Loading {} for cache {} failed", key, name, e);
+            load.result.completeExceptionally(e);
+        } finally {
+            loads.remove(localKey, load);
+        }
+    }
+    
+    private static Object await(Load load, Object key, Callable<?> valueLoader) {
+        try {
+            return load.result.join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+    
+    private void registerTier(MeterRegistry registry, String tier, LongAdder hits, LongAdder misses) {
+        FunctionCounter.builder("cache.tier.gets", hits, LongAdder::doubleValue)
+                .tags("cache", name, "tier", tier, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", misses, LongAdder::doubleValue)
+                .tags("cache", name, "tier", tier, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.tier.hit.ratio", () -> ratio(hits, misses))
+                .tags("cache", name, "tier", tier)
+                .register(registry);
+    }
+    
+    private static double ratio(LongAdder hits, LongAdder misses) {
+        double hitCount = hits.sum();
+        double total = hitCount + misses.sum();
+        return total == 0 ? 0 : hitCount / total;
+    }
+    
+    /**
+     * An L1 value with the time it was cached, to tell when it is due for a refresh.
+     */
+    public static final class Stamped {
+        
+        private final Object value;
+        private final long cachedAtNanos;
+        
+        private Stamped(Object value, long cachedAtNanos) {
+            this.value = value;
+            this.cachedAtNanos = cachedAtNanos;
+        }
+        
+        static Stamped now(Object value) {
+            return new Stamped(value, System.nanoTime());
+        }
+        
+        Object value() {
+            return value;
+        }
+        
+        long ageNanos() {
+            return System.nanoTime() - cachedAtNanos;
+        }
+    }
+    
+    private static final class Load {
+        
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile boolean discarded;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fooddelivery.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Puts a {@link TwoLevelCache} in front of the named caches of the shared cache manager;
+ * other caches are returned as they are. Invalidations from the bus are applied to the
+ * matching near cache.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+    
+    private final CacheManager shared;
+    private final CacheInvalidationBus bus;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> nearCacheNames;
+    private final long maxSize;
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Executor refreshExecutor;
+    private final Map<String, TwoLevelCache> nearCaches = new ConcurrentHashMap<>();
+    
+    /**
+     * @param maxSize         entries per near cache
+     * @param ttl             upper bound on how stale a near copy can be if an invalidation is lost
+     * @param refreshAfter    age at which a near copy is reloaded in the background while still
+     *                        being served; zero turns stale-while-revalidate off
+     * @param refreshExecutor runs the background reloads
+     */
+    public TwoLevelCacheManager(CacheManager shared, CacheInvalidationBus bus, MeterRegistry meterRegistry,
+                                Set<String> nearCacheNames, long maxSize, Duration ttl,
+                                Duration refreshAfter, Executor refreshExecutor) {
+        this.shared = shared;
+        this.bus = bus;
+        this.meterRegistry = meterRegistry;
+        this.nearCacheNames = Set.copyOf(nearCacheNames);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.refreshAfter = refreshAfter;
+        this.refreshExecutor = refreshExecutor;
+        bus.subscribe(this::onInvalidation);
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        if (!nearCacheNames.contains(name)) {
+            return shared.getCache(name);
+        }
+        return nearCaches.computeIfAbsent(name, this::createNearCache);
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return shared.getCacheNames();
+    }
+    
+    private TwoLevelCache createNearCache(String name) {
+        Cache sharedCache = shared.getCache(name);
+        if (sharedCache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + name);
+        }
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .build(),
+                sharedCache, bus, meterRegistry, refreshAfter, refreshExecutor);
+    }
+    
+    private void onInvalidation(String cacheName, String key) {
+        TwoLevelCache cache = nearCaches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.fooddelivery.common.config;
+
+import com.fooddelivery.common.kafka.KeyOrderedDispatcher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class AsyncConfig {
+    
+    // Gateway calls run here, outside any request thread or DB transaction
+    @Bean(name = "paymentExecutor")
+    public Executor paymentExecutor(
+            @Value("${app.payment.executor.core-pool-size:20}") int corePoolSize,
+            @Value("${app.payment.executor.max-pool-size:50}") int maxPoolSize,
+            @Value("${app.payment.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    // Key shards of an order-events batch beyond the first, which runs on the listener thread
+    @Bean(name = "orderEventExecutor")
+    public Executor orderEventExecutor(
+            @Value("${app.delivery.consumer.concurrency:3}") int concurrency,
+            @Value("${app.delivery.consumer.parallelism:1}") int parallelism) {
+        // Each listener thread waits for its shards, so this many workers never queue
+        int poolSize = Math.max(1, concurrency * (parallelism - 1));
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setThreadNamePrefix("order-events-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    // Background stale-while-revalidate loads for the near caches; when full, stale copies are kept a little longer
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor(
+            @Value("${app.cache.near.refresh-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "orderEventDispatcher")
+    public KeyOrderedDispatcher orderEventDispatcher(
+            @Qualifier("orderEventExecutor") Executor orderEventExecutor,
+            @Value("${app.delivery.consumer.parallelism:1}") int parallelism) {
+        return new KeyOrderedDispatcher(orderEventExecutor, parallelism);
+    }
+}
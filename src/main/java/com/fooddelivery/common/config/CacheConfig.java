@@ -0,0 +1,142 @@
+package com.fooddelivery.common.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.common.cache.RedisCacheInvalidationBus;
+import com.fooddelivery.common.cache.TwoLevelCache;
+import com.fooddelivery.common.cache.TwoLevelCacheManager;
+import com.fooddelivery.restaurant.dto.MenuItemResponse;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.user.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Redis-backed caches shared by all instances, with a TTL per cache from {@code app.cache.ttl}.
+ * <p>
+ * Each cache stores one DTO type as plain JSON, without the class names a generic serializer
+ * would embed, so entries stay small and cannot be used to instantiate arbitrary types. Only
+ * the caches declared here exist. Statistics are enabled, and Spring Boot publishes them as
+ * {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} tagged by cache name;
+ * caches with a near copy report per-tier figures as {@code cache.tier.*} instead.
+ * If Redis is unavailable, cache calls are logged and the method runs uncached.
+ */
+@Configuration
+public class CacheConfig implements CachingConfigurer {
+    
+    public static final String RESTAURANTS = "restaurants";
+    public static final String MENUS = "menus";
+    public static final String USERS = "users";
+    
+    private static final String KEY_PREFIX = "cache:";
+    private static final int CLEAR_SCAN_BATCH_SIZE = 1000;
+    
+    /**
+     * Caches listed in {@code app.cache.near.caches} also get a bounded in-process copy in
+     * front of Redis; see {@link TwoLevelCache}.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            CacheInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.ttl.restaurant:3600}") long restaurantTtlSeconds,
+            @Value("${app.cache.ttl.menu:3600}") long menuTtlSeconds,
+            @Value("${app.cache.ttl.user:7200}") long userTtlSeconds,
+            @Value("${app.cache.near.caches:restaurants,menus}") Set<String> nearCaches,
+            @Value("${app.cache.near.max-size:10000}") long nearMaxSize,
+            @Value("${app.cache.near.ttl:60s}") Duration nearTtl,
+            @Value("${app.cache.near.refresh-after:0s}") Duration nearRefreshAfter,
+            @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter(connectionFactory))
+                .withInitialCacheConfigurations(cacheConfigurations(objectMapper,
+                        Duration.ofSeconds(restaurantTtlSeconds),
+                        Duration.ofSeconds(menuTtlSeconds),
+                        Duration.ofSeconds(userTtlSeconds)))
+                .disableCreateOnMissingCache()
+                .enableStatistics()
+                .build();
+        redisCacheManager.afterPropertiesSet(); // not a bean of its own, so load the caches here
+        
+        return new TwoLevelCacheManager(redisCacheManager, invalidationBus, meterRegistry,
+                nearCaches, nearMaxSize, nearTtl, nearRefreshAfter, cacheRefreshExecutor);
+    }
+    
+    /**
+     * Clearing a cache deletes its keys in SCAN batches; the default writer uses KEYS, which
+     * blocks Redis while it walks the whole keyspace.
+     */
+    static RedisCacheWriter cacheWriter(RedisConnectionFactory connectionFactory) {
+        return RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(CLEAR_SCAN_BATCH_SIZE));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisCacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(RedisCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+    
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler();
+    }
+    
+    static Map<String, RedisCacheConfiguration> cacheConfigurations(ObjectMapper objectMapper,
+                                                                     Duration restaurantTtl,
+                                                                     Duration menuTtl,
+                                                                     Duration userTtl) {
+        JavaType menuType = objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, MenuItemResponse.class);
+        
+        Map<String, RedisCacheConfiguration> configurations = new LinkedHashMap<>();
+        configurations.put(RESTAURANTS, cacheConfiguration(restaurantTtl,
+                new Jackson2JsonRedisSerializer<>(objectMapper, RestaurantResponse.class)));
+        configurations.put(MENUS, cacheConfiguration(menuTtl,
+                new Jackson2JsonRedisSerializer<>(objectMapper, menuType)));
+        configurations.put(USERS, cacheConfiguration(userTtl,
+                new Jackson2JsonRedisSerializer<>(objectMapper, UserResponse.class)));
+        return configurations;
+    }
+    
+    private static RedisCacheConfiguration cacheConfiguration(Duration ttl, Jackson2JsonRedisSerializer<?> values) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .prefixCacheNameWith(KEY_PREFIX)
+                .disableCachingNullValues()
+                .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(SerializationPair.fromSerializer(values));
+    }
+}
@@ -0,0 +1,39 @@
+package com.fooddelivery.common.config;
+
+import com.fooddelivery.common.id.BusinessIds;
+import com.fooddelivery.common.id.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+    
+    static final String DEV_PROFILE = "dev";
+    
+    // Every running instance needs its own node id (0-1023), e.g. the pod ordinal. A derived one can
+    // collide with another instance's and duplicate order numbers, so it is only allowed in dev.
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.id.node-id:-1}") int nodeId,
+                                                     Environment environment) {
+        if (nodeId < 0) {
+            if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+                throw new IllegalStateException("app.id.node-id (NODE_ID) is not set. Give every instance its own "
+                        + "node id between 0 and " + SnowflakeIdGenerator.MAX_NODE_ID
+                        + ", or run with the '" + DEV_PROFILE + "' profile to derive one from the host name.");
+            }
+            nodeId = BusinessIds.fallbackNodeId();
+            log.warn("app.id.node-id is not set; using node id {} derived from host name ({} profile)",
+                    nodeId, DEV_PROFILE);
+        }
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(nodeId);
+        // A previous run with this node id may have issued ids slightly ahead of the clock
+        generator.awaitPastPreviousRun();
+        BusinessIds.use(generator);
+        return generator;
+    }
+}
@@ -1,37 +1,162 @@
 package com.fooddelivery.common.config;
 
+import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OrderEventDeserializer;
+import com.fooddelivery.order.event.OrderEventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @Configuration
 public class KafkaConfig {
     
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
+    public static final String DLT_SUFFIX = ".DLT";
     
+    /**
+     * Connection settings come from {@code spring.kafka.*}. Batching,
+     * compression and idempotence come from the {@code app.kafka.producer.profile} preset,
+     * and any {@code app.kafka.producer.*} value that is set overrides the preset.
+     * Producer client metrics are bound to Micrometer as {@code kafka.producer.*}.
+     * <p>
+     * {@link OrderEvent}s are written in the compact binary format, and any other value as JSON.
+     */
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        return new DefaultKafkaProducerFactory<>(configProps);
+    public ProducerFactory<String, Object> producerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.kafka.producer.profile:throughput}") String profile,
+            @Value("${app.kafka.producer.linger-ms:#{null}}") Integer lingerMs,
+            @Value("${app.kafka.producer.batch-size:#{null}}") Integer batchSize,
+            @Value("${app.kafka.producer.compression-type:#{null}}") String compressionType,
+            @Value("${app.kafka.producer.max-in-flight:#{null}}") Integer maxInFlight,
+            @Value("${app.kafka.producer.idempotence:#{null}}") Boolean idempotence) {
+        Map<String, Object> configProps = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        configProps.putAll(producerSettings(ProducerProfile.valueOf(profile.toUpperCase(Locale.ROOT)),
+                lingerMs, batchSize, compressionType, maxInFlight, idempotence));
+        
+        DefaultKafkaProducerFactory<String, Object> factory =
+                new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), valueSerializer());
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerProducerListener<>(registry)));
+        return factory;
     }
     
+    /**
+     * Replaces Boot's default so order-events values are read with the binary deserializer.
+     * Values that fail to deserialize reach the listener as null instead of failing every poll.
+     * Consumer client metrics, including {@code kafka.consumer.fetch.manager.records.lag.max},
+     * are bound to Micrometer.
+     */
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public ConsumerFactory<Object, Object> consumerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, OrderEventDeserializer.class);
+        
+        DefaultKafkaConsumerFactory<Object, Object> factory = new DefaultKafkaConsumerFactory<>(configProps);
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerConsumerListener<>(registry)));
+        return factory;
+    }
+    
+    /**
+     * Batch container for order-events listeners. Each poll of up to {@code max-poll-records}
+     * is handed over as one list. A record that fails the batch is retried with a fixed
+     * back-off and then published to {@code order-events.DLT}, and consumption moves on.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderEventBatchListenerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${app.delivery.consumer.concurrency:3}") int concurrency,
+            @Value("${app.delivery.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${app.delivery.consumer.retry-attempts:2}") long retryAttempts,
+            @Value("${app.delivery.consumer.retry-backoff:1s}") Duration retryBackoff) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().getKafkaConsumerProperties()
+                .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        factory.setCommonErrorHandler(deadLetterErrorHandler(kafkaTemplate, retryAttempts, retryBackoff));
+        return factory;
+    }
+    
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+    
+    private static DefaultErrorHandler deadLetterErrorHandler(KafkaTemplate<String, Object> kafkaTemplate,
+                                                              long retryAttempts, Duration retryBackoff) {
+        // Any partition of the DLT will do, so it need not match the source topic's partition count
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryBackoff.toMillis(), retryAttempts));
+    }
+    
+    private static Serializer<Object> valueSerializer() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(OrderEvent.class, new OrderEventSerializer());
+        // Raw values of unreadable records are dead-lettered as they were received
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>());
+        return new DelegatingByTypeSerializer(delegates, true);
+    }
+    
+    static Map<String, Object> producerSettings(ProducerProfile profile, Integer lingerMs, Integer batchSize,
+                                                String compressionType, Integer maxInFlight, Boolean idempotence) {
+        Map<String, Object> settings = profile.settings();
+        putIfSet(settings, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfSet(settings, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfSet(settings, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfSet(settings, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlight);
+        putIfSet(settings, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        
+        // The idempotent producer only keeps per-partition order with at most 5 requests in flight
+        if (Boolean.TRUE.equals(settings.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG))
+                && (Integer) settings.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION) > 5) {
+            throw new IllegalArgumentException("app.kafka.producer.max-in-flight must be at most 5 with idempotence");
+        }
+        return settings;
+    }
+    
+    private static void putIfSet(Map<String, Object> settings, String key, Object value) {
+        if (value != null && !"".equals(value)) {
+            settings.put(key, value);
+        }
     }
 }
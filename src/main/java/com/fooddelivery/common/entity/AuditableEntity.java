@@ -0,0 +1,30 @@
+package com.fooddelivery.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit timestamps and optimistic-lock version shared by every entity. The id lives in
+ * {@link BaseEntity} or {@link PooledSequenceEntity}, depending on how it is generated.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class AuditableEntity {
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Version
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.common.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator that uses {@code <table>_id_seq}, the sequence Postgres created for the
+ * table's original BIGSERIAL id, so one generator definition serves every entity.
+ */
+public class TableSequenceGenerator extends SequenceStyleGenerator {
+    
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        if (!params.containsKey(SEQUENCE_PARAM)) {
+            params.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + "_id_seq");
+        }
+        super.configure(type, params, serviceRegistry);
+    }
+}
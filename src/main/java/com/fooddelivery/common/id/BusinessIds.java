@@ -0,0 +1,84 @@
+package com.fooddelivery.common.id;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+/**
+ * Human-facing identifiers such as order numbers and transaction ids. Each is a prefix
+ * followed by a Snowflake id in fixed-width Crockford base32, e.g. {@code ORD01HQ3ZK7T8M0G}.
+ * Because the width is fixed and the alphabet is in ascending order, sorting the strings
+ * sorts them by creation time.
+ * <p>
+ * Entities call this from {@code @PrePersist}, so the generator is held statically. It is
+ * replaced at startup with one that uses the configured {@code app.id.node-id}
+ * (see {@code IdGeneratorConfig}).
+ */
+public final class BusinessIds {
+    
+    public static final String ORDER_PREFIX = "ORD";
+    public static final String TRANSACTION_PREFIX = "TXN";
+    
+    static final int ENCODED_LENGTH = 13;
+    
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    
+    private static volatile SnowflakeIdGenerator generator = new SnowflakeIdGenerator(fallbackNodeId());
+    
+    private BusinessIds() {
+    }
+    
+    public static String orderNumber() {
+        return ORDER_PREFIX + encode(generator.nextId());
+    }
+    
+    public static String transactionId() {
+        return TRANSACTION_PREFIX + encode(generator.nextId());
+    }
+    
+    public static void use(SnowflakeIdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+    
+    static SnowflakeIdGenerator current() {
+        return generator;
+    }
+    
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+    
+    static long decode(String encoded) {
+        long id = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            int digit = Arrays.binarySearch(CROCKFORD, encoded.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid id: " + encoded);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+    
+    /**
+     * Best-effort node id from host name and pid, for the default generator and the dev profile.
+     * Two instances can collide on it, so {@code IdGeneratorConfig} requires {@code app.id.node-id}
+     * everywhere else.
+     */
+    public static int fallbackNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String seed = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return Math.floorMod(seed.hashCode(), SnowflakeIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.fooddelivery.common.id;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free, time-ordered 63-bit id: 41 bits of milliseconds since {@link #EPOCH},
+ * 10 bits of node id and 12 bits of per-millisecond sequence (4096 ids/ms per node).
+ * <p>
+ * Ids from one node are strictly increasing. If the clock steps backwards, or a millisecond's
+ * sequence runs out, the generator keeps counting from its last timestamp instead of waiting,
+ * but never more than {@code maxLeadMillis} ahead of the clock; past that it waits for the clock.
+ * That bound is what lets a restarted process on the same node id avoid the ids of the previous
+ * one: see {@link #awaitPastPreviousRun()}.
+ */
+public class SnowflakeIdGenerator {
+    
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final long DEFAULT_MAX_LEAD_MILLIS = 1_000;
+    
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    
+    private final long epochMillis = EPOCH.toEpochMilli();
+    private final long nodeBits;
+    private final long maxLeadMillis;
+    
+    // (timestamp << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+    
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, DEFAULT_MAX_LEAD_MILLIS);
+    }
+    
+    SnowflakeIdGenerator(int nodeId, long maxLeadMillis) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxLeadMillis = maxLeadMillis;
+    }
+    
+    public long nextId() {
+        while (true) {
+            long now = System.currentTimeMillis() - epochMillis;
+            long last = lastState.get();
+            long fresh = now << SEQUENCE_BITS;
+            // Same or earlier millisecond: bump the sequence, which carries into the timestamp on overflow
+            long next = fresh > last ? fresh : last + 1;
+            long timestamp = next >>> SEQUENCE_BITS;
+            if (timestamp - now > maxLeadMillis) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                continue;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                return (timestamp << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+    
+    /**
+     * Blocks until the clock has passed every timestamp that a previous process with this node id
+     * could have issued. That process ran at most {@code maxLeadMillis} ahead of its clock, and
+     * stopped before this one started, so waiting out the lead is enough as long as the wall clock
+     * has not been stepped back across the restart. Call once, before the first id.
+     */
+    public void awaitPastPreviousRun() {
+        long until = System.currentTimeMillis() + maxLeadMillis + 1;
+        long remaining;
+        while ((remaining = until - System.currentTimeMillis()) > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting out the previous id range", e);
+            }
+        }
+    }
+    
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+    
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> TIMESTAMP_SHIFT);
+    }
+    
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
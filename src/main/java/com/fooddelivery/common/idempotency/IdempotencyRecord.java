@@ -0,0 +1,24 @@
+package com.fooddelivery.common.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    private boolean completed;
+    private String fingerprint; // SHA-256 of the request body the key was first used with
+    private int status;
+    private String body;
+    
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return IdempotencyRecord.builder()
+                .completed(false)
+                .fingerprint(fingerprint)
+                .build();
+    }
+}
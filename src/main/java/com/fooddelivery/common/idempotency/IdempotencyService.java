@@ -0,0 +1,201 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.exception.IdempotencyConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a mutating request at most once per Idempotency-Key. The first request with a key
+ * executes and its response is stored; replays get the stored response back without
+ * running the action again. Concurrent duplicates on this node wait on the first one,
+ * and duplicates on other nodes wait on the shared store.
+ */
+@Service
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final long POLL_INTERVAL_MS = 50;
+    
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration waitTimeout;
+    
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotencyService(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.lock-ttl:30s}") Duration lockTtl,
+            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.waitTimeout = waitTimeout;
+    }
+    
+    public <T> ResponseEntity<T> execute(String scope, Long userId, String idempotencyKey, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed 255 characters");
+        }
+        
+        String key = scope + ":" + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            return replay(awaitLocal(leader), fingerprint, responseType);
+        }
+        
+        try {
+            Outcome<T> outcome = executeOnce(key, fingerprint, responseType, action);
+            mine.complete(outcome.record);
+            return outcome.response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    private <T> Outcome<T> executeOnce(String key, String fingerprint, Class<T> responseType,
+                                       Supplier<ResponseEntity<T>> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        
+        while (true) {
+            IdempotencyRecord stored = store.get(key).orElse(null);
+            if (stored != null && stored.isCompleted()) {
+                return new Outcome<>(replay(stored, fingerprint, responseType), stored);
+            }
+            
+            if (stored == null && store.tryAcquire(key, IdempotencyRecord.inProgress(fingerprint), lockTtl)) {
+                return run(key, fingerprint, action);
+            }
+            
+            if (stored != null && !fingerprint.equals(stored.getFingerprint())) {
+                throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+            }
+            
+            // Another instance is executing this key; wait for its result
+            if (System.nanoTime() > deadline) {
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+            }
+            sleep();
+        }
+    }
+    
+    private <T> Outcome<T> run(String key, String fingerprint, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Failed requests are not remembered, so the client can retry with the same key
+            store.release(key);
+            throw e;
+        }
+        
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .completed(true)
+                .fingerprint(fingerprint)
+                .status(response.getStatusCode().value())
+                .body(write(response.getBody()))
+                .build();
+        store.complete(key, record, ttl);
+        return new Outcome<>(response, record);
+    }
+    
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String fingerprint, Class<T> responseType) {
+        if (!fingerprint.equals(record.getFingerprint())) {
+            throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+        }
+        try {
+            T body = record.getBody() == null ? null : objectMapper.readValue(record.getBody(), responseType);
+            return ResponseEntity.status(record.getStatus())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored response", e);
+        }
+    }
+    
+    private IdempotencyRecord awaitLocal(CompletableFuture<IdempotencyRecord> leader) {
+        try {
+            return leader.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+    
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize value", e);
+        }
+    }
+    
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+    
+    private static final class Outcome<T> {
+        
+        private final ResponseEntity<T> response;
+        private final IdempotencyRecord record;
+        
+        private Outcome(ResponseEntity<T> response, IdempotencyRecord record) {
+            this.response = response;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.fooddelivery.common.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * TTL'd storage for idempotency keys. {@link #tryAcquire} must be atomic across every
+ * application instance sharing the store.
+ */
+public interface IdempotencyStore {
+    
+    Optional<IdempotencyRecord> get(String key);
+    
+    boolean tryAcquire(String key, IdempotencyRecord inProgress, Duration lockTtl);
+    
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+    
+    void release(String key);
+}
@@ -0,0 +1,72 @@
+package com.fooddelivery.common.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-node fallback store for local runs and tests; keys are not shared between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory")
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    
+    private static final int SWEEP_EVERY = 1024;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger acquires = new AtomicInteger();
+    
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.record);
+    }
+    
+    @Override
+    public boolean tryAcquire(String key, IdempotencyRecord inProgress, Duration lockTtl) {
+        if (acquires.incrementAndGet() % SWEEP_EVERY == 0) {
+            entries.values().removeIf(Entry::isExpired);
+        }
+        Entry candidate = new Entry(inProgress, lockTtl);
+        Entry winner = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired() ? candidate : existing);
+        return winner == candidate;
+    }
+    
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, ttl));
+    }
+    
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+    
+    private static final class Entry {
+        
+        private final IdempotencyRecord record;
+        private final long expiresAtMillis;
+        
+        private Entry(IdempotencyRecord record, Duration ttl) {
+            this.record = record;
+            this.expiresAtMillis = System.currentTimeMillis() + ttl.toMillis();
+        }
+        
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Shared store: SET NX with expiry claims a key, so duplicates collapse across instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+    
+    private static final String KEY_PREFIX = "idempotency:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public Optional<IdempotencyRecord> get(String key) {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        return json == null ? Optional.empty() : Optional.of(read(json));
+    }
+    
+    @Override
+    public boolean tryAcquire(String key, IdempotencyRecord inProgress, Duration lockTtl) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, write(inProgress), lockTtl);
+        return Boolean.TRUE.equals(acquired);
+    }
+    
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, write(record), ttl);
+    }
+    
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+    
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotency record", e);
+        }
+    }
+    
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotency record", e);
+        }
+    }
+}
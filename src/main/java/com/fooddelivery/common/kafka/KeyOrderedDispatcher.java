@@ -0,0 +1,133 @@
+package com.fooddelivery.common.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Processes a polled batch on several threads while keeping records with the same key in order.
+ * <p>
+ * Records are split into shards by key hash, so every record for a key lands in the same shard,
+ * in the order it was polled. Shards run concurrently, one on the calling thread and the rest on
+ * the executor, and {@link #dispatch} returns only once all of them are done. The container
+ * therefore still commits the batch's offsets after the listener returns, never ahead of the work.
+ * <p>
+ * If shards fail with {@link BatchListenerFailedException}, the one at the lowest batch position
+ * is rethrown with that position, so the error handler commits only the records before it and
+ * redelivers the rest. Handlers must finish every record before the one they fail on, and must
+ * tolerate redelivery of records after it. Any other failure is rethrown as is and the whole
+ * batch is retried.
+ */
+public class KeyOrderedDispatcher {
+    
+    private final Executor executor;
+    private final int parallelism;
+    
+    public KeyOrderedDispatcher(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+    
+    public <K, V> void dispatch(List<ConsumerRecord<K, V>> records, Consumer<List<ConsumerRecord<K, V>>> handler) {
+        if (parallelism == 1 || records.size() < 2) {
+            handler.accept(records);
+            return;
+        }
+        
+        List<List<ConsumerRecord<K, V>>> shards = new ArrayList<>(parallelism);
+        List<List<Integer>> positions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            shards.add(new ArrayList<>());
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < records.size(); i++) {
+            int shard = Math.floorMod(Objects.hashCode(records.get(i).key()), parallelism);
+            shards.get(shard).add(records.get(i));
+            positions.get(shard).add(i);
+        }
+        
+        List<CompletableFuture<Void>> running = new ArrayList<>(parallelism);
+        List<Integer> runningShards = new ArrayList<>(parallelism);
+        int localShard = -1;
+        for (int i = 0; i < parallelism; i++) {
+            if (shards.get(i).isEmpty()) {
+                continue;
+            }
+            if (localShard < 0) {
+                localShard = i;
+                continue;
+            }
+            List<ConsumerRecord<K, V>> shard = shards.get(i);
+            running.add(CompletableFuture.runAsync(() -> handler.accept(shard), executor));
+            runningShards.add(i);
+        }
+        
+        Failure failure = new Failure();
+        try {
+            handler.accept(shards.get(localShard));
+        } catch (RuntimeException e) {
+            failure.add(e, shards.get(localShard), positions.get(localShard));
+        }
+        for (int i = 0; i < running.size(); i++) {
+            int shard = runningShards.get(i);
+            try {
+                running.get(i).join();
+            } catch (CompletionException e) {
+                failure.add(e.getCause(), shards.get(shard), positions.get(shard));
+            }
+        }
+        failure.rethrow();
+    }
+    
+    private static final class Failure {
+        
+        private Throwable unpositioned;
+        private BatchListenerFailedException first;
+        private int firstPosition = Integer.MAX_VALUE;
+        
+        void add(Throwable cause, List<? extends ConsumerRecord<?, ?>> shard, List<Integer> positions) {
+            if (!(cause instanceof BatchListenerFailedException failed)) {
+                if (unpositioned == null) {
+                    unpositioned = cause;
+                }
+                return;
+            }
+            int index = failed.getRecord() != null ? shard.indexOf(failed.getRecord()) : failed.getIndex();
+            if (index < 0 || index >= positions.size()) {
+                if (unpositioned == null) {
+                    unpositioned = cause;
+                }
+                return;
+            }
+            if (positions.get(index) < firstPosition) {
+                firstPosition = positions.get(index);
+                first = failed;
+            }
+        }
+        
+        void rethrow() {
+            if (unpositioned instanceof RuntimeException e) {
+                throw e;
+            }
+            if (unpositioned instanceof Error e) {
+                throw e;
+            }
+            if (first != null && first.getRecord() != null) {
+                throw first; // the error handler finds the record in the batch itself
+            }
+            if (first != null) {
+                throw new BatchListenerFailedException(first.getMessage(), first.getCause(), firstPosition);
+            }
+        }
+    }
+}
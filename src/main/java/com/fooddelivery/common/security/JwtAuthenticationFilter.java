@@ -1,5 +1,6 @@
 package com.fooddelivery.common.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,18 +34,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            // Parse and verify the token once; all claims come from the same result
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.resolveClaims(jwt).orElse(null) : null;
+            
+            if (claims != null) {
+                String username = claims.getSubject();
                 
-                // Extract roles from token
-                var claims = tokenProvider.getClaims(jwt);
-                String rolesStr = claims.get("roles", String.class);
+                // Extract user id and roles from token
+                Long userId = claims.get(JwtTokenProvider.USER_ID_CLAIM, Long.class);
+                String rolesStr = claims.get(JwtTokenProvider.ROLES_CLAIM, String.class);
                 List<SimpleGrantedAuthority> authorities = Arrays.stream(rolesStr.split(","))
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .map(role -> new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role))
                         .collect(Collectors.toList());
                 
                 UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(
+                                new AuthenticatedUser(userId, username), null, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -1,8 +1,14 @@
 package com.fooddelivery.common.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,26 +16,56 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
     
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    
     private final SecretKey secretKey;
     private final long jwtExpiration;
     private final long refreshExpiration;
+    private final JwtParser parser;
+    
+    // Verified claims keyed by SHA-256 of the token; null when the cache is disabled
+    private final Cache<String, Claims> verifiedClaims;
     
+    public JwtTokenProvider(String secret, long jwtExpiration, long refreshExpiration) {
+        this(secret, jwtExpiration, refreshExpiration, false, 0, Duration.ZERO);
+    }
+    
+    @Autowired
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration}") long jwtExpiration,
-            @Value("${app.jwt.refresh-expiration}") long refreshExpiration) {
+            @Value("${app.jwt.refresh-expiration}") long refreshExpiration,
+            @Value("${app.jwt.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.cache.ttl:5m}") Duration cacheTtl) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedClaims = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new TokenExpiry(cacheTtl))
+                        .build()
+                : null;
     }
     
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Authentication authentication, Long userId) {
         String username = authentication.getName();
         String roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -40,7 +76,8 @@ public class JwtTokenProvider {
         
         return Jwts.builder()
                 .subject(username)
-                .claim("roles", roles)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey)
@@ -60,32 +97,90 @@ public class JwtTokenProvider {
                 .compact();
     }
     
+    /**
+     * Parses and verifies the token once, returning its claims, or empty if the token
+     * is malformed, expired or not signed with our key.
+     */
+    public Optional<Claims> resolveClaims(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verify(token).getSubject();
     }
     
     public boolean validateToken(String token) {
+        return resolveClaims(token).isPresent();
+    }
+    
+    public Claims getClaims(String token) {
+        return verify(token);
+    }
+    
+    private Claims verify(String token) {
+        if (verifiedClaims == null) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+        
+        String key = fingerprint(token);
+        Claims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedClaims.put(key, claims);
+        return claims;
+    }
+    
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+    
+    private static String fingerprint(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
     
-    public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Keeps a cached entry no longer than the configured TTL and never past the token's own expiry.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        
+        private final long ttlNanos;
+        
+        private TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, remaining));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
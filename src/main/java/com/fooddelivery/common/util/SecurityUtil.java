@@ -1,5 +1,6 @@
 package com.fooddelivery.common.util;
 
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.user.entity.User;
 import com.fooddelivery.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,12 @@ public class SecurityUtil {
     }
     
     public Long getCurrentUserId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser && authenticatedUser.getId() != null) {
+            return authenticatedUser.getId();
+        }
+        
+        // Tokens issued before the user id claim was added still resolve by email
         String email = getCurrentUserEmail();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
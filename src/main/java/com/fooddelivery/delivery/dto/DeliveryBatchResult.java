@@ -0,0 +1,18 @@
+package com.fooddelivery.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryBatchResult {
+    private int created;
+    private int skipped; // order already had a delivery
+    private Set<Long> missingOrderIds; // order or its restaurant not found
+}
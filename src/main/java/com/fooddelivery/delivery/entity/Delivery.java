@@ -1,6 +1,6 @@
 package com.fooddelivery.delivery.entity;
 
-import com.fooddelivery.common.entity.BaseEntity;
+import com.fooddelivery.common.entity.PooledSequenceEntity;
 import com.fooddelivery.common.enums.DeliveryStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -18,7 +18,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Delivery extends BaseEntity {
+public class Delivery extends PooledSequenceEntity {
     
     @Column(name = "order_id", nullable = false, unique = true)
     private Long orderId;
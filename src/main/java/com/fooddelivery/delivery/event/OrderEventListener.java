@@ -0,0 +1,106 @@
+package com.fooddelivery.delivery.event;
+
+import com.fooddelivery.common.kafka.KeyOrderedDispatcher;
+import com.fooddelivery.delivery.dto.DeliveryBatchResult;
+import com.fooddelivery.delivery.service.DeliveryService;
+import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OutboxRelay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates deliveries for accepted orders, a poll at a time.
+ * <p>
+ * The batch is split by order number ({@code app.delivery.consumer.parallelism} shards), and the
+ * ORDER_ACCEPTED events of each shard are handled by one {@link DeliveryService#createDeliveries}
+ * call. Events for one order stay in order while different orders run concurrently. Records that cannot be processed (unreadable, or for an order that does not exist) fail
+ * the batch at their index: offsets before it are committed, and the error handler retries from
+ * that record and then moves it to the dead-letter topic. Redelivered records are harmless since
+ * orders that already have a delivery are skipped.
+ */
+@Component
+@Slf4j
+public class OrderEventListener {
+    
+    public static final String ORDER_ACCEPTED = "ORDER_ACCEPTED";
+    
+    private final DeliveryService deliveryService;
+    private final KeyOrderedDispatcher dispatcher;
+    private final DistributionSummary batchSize;
+    private final Counter created;
+    private final Counter skipped;
+    
+    public OrderEventListener(DeliveryService deliveryService,
+                              @Qualifier("orderEventDispatcher") KeyOrderedDispatcher dispatcher,
+                              MeterRegistry meterRegistry) {
+        this.deliveryService = deliveryService;
+        this.dispatcher = dispatcher;
+        this.batchSize = DistributionSummary.builder("delivery.consumer.batch.size")
+                .description("Order events received per listener batch")
+                .baseUnit("records")
+                .register(meterRegistry);
+        this.created = deliveryCounter(meterRegistry, "created");
+        this.skipped = deliveryCounter(meterRegistry, "skipped");
+    }
+    
+    @KafkaListener(topics = OutboxRelay.ORDER_TOPIC, groupId = "delivery-service",
+            containerFactory = "orderEventBatchListenerFactory")
+    public void onOrderEvents(List<ConsumerRecord<String, OrderEvent>> records) {
+        batchSize.record(records.size());
+        dispatcher.dispatch(records, this::createDeliveries);
+    }
+    
+    // Runs once per key shard; with parallelism 1 the shard is the whole batch
+    private void createDeliveries(List<ConsumerRecord<String, OrderEvent>> records) {
+        // First record of each accepted order, so a failure can point at it
+        Map<Long, ConsumerRecord<String, OrderEvent>> accepted = new LinkedHashMap<>();
+        for (ConsumerRecord<String, OrderEvent> record : records) {
+            OrderEvent event = record.value();
+            if (event == null) {
+                // Value failed to deserialize; fail here so it goes to the dead-letter topic
+                flush(accepted);
+                throw new BatchListenerFailedException("Unreadable order event", record);
+            }
+            if (ORDER_ACCEPTED.equals(event.getEventType()) && event.getOrderId() != null) {
+                accepted.putIfAbsent(event.getOrderId(), record);
+            }
+        }
+        flush(accepted);
+    }
+    
+    private void flush(Map<Long, ConsumerRecord<String, OrderEvent>> accepted) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        DeliveryBatchResult result = deliveryService.createDeliveries(accepted.keySet());
+        created.increment(result.getCreated());
+        skipped.increment(result.getSkipped());
+        
+        if (!result.getMissingOrderIds().isEmpty()) {
+            ConsumerRecord<String, OrderEvent> first = accepted.values().stream()
+                    .filter(record -> result.getMissingOrderIds().contains(record.value().getOrderId()))
+                    .findFirst()
+                    .orElseThrow();
+            log.warn("No order or restaurant for accepted order ids {}", result.getMissingOrderIds());
+            throw new BatchListenerFailedException("Order not found for accepted event", first);
+        }
+    }
+    
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("delivery.consumer.deliveries")
+                .description("Deliveries handled from ORDER_ACCEPTED events")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -5,12 +5,14 @@ import com.fooddelivery.delivery.entity.Delivery;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     Optional<Delivery> findByOrderId(Long orderId);
+    List<Delivery> findByOrderIdIn(Collection<Long> orderIds);
     List<Delivery> findByDeliveryPartnerId(Long deliveryPartnerId);
     List<Delivery> findByStatus(DeliveryStatus status);
 }
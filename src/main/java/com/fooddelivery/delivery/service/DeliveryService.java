@@ -2,6 +2,7 @@ package com.fooddelivery.delivery.service;
 
 import com.fooddelivery.common.enums.DeliveryStatus;
 import com.fooddelivery.common.exception.ResourceNotFoundException;
+import com.fooddelivery.delivery.dto.DeliveryBatchResult;
 import com.fooddelivery.delivery.dto.DeliveryResponse;
 import com.fooddelivery.delivery.entity.Delivery;
 import com.fooddelivery.order.entity.Order;
@@ -10,11 +11,18 @@ import com.fooddelivery.restaurant.entity.Restaurant;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import com.fooddelivery.delivery.repository.DeliveryRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -38,21 +46,58 @@ public class DeliveryService {
         Restaurant restaurant = restaurantRepository.findById(order.getRestaurantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
         
-        Delivery delivery = Delivery.builder()
-                .orderId(orderId)
-                .status(DeliveryStatus.PENDING)
-                .pickupAddress(restaurant.getAddress() + ", " + restaurant.getCity())
-                .deliveryAddress(order.getDeliveryAddress())
-                .estimatedDeliveryTime(LocalDateTime.now().plusMinutes(
-                        restaurant.getEstimatedDeliveryTimeMinutes() != null ? 
-                        restaurant.getEstimatedDeliveryTimeMinutes() : 30))
-                .trackingUrl("https://track.fooddelivery.com/" + order.getOrderNumber())
-                .build();
+        Delivery delivery = newDelivery(order, restaurant);
         
-        delivery = deliveryRepository.save(delivery);
+        // Flush so createdAt is populated; sequence ids no longer force an immediate insert
+        delivery = deliveryRepository.saveAndFlush(delivery);
         return mapToResponse(delivery);
     }
     
+    /**
+     * Creates deliveries for a batch of accepted orders with one lookup each for orders,
+     * existing deliveries and restaurants, and one batched insert. Orders that already have
+     * a delivery are skipped, so redelivered events are harmless. Orders that cannot be
+     * found are reported back instead of failing the whole batch.
+     */
+    @Transactional
+    public DeliveryBatchResult createDeliveries(Collection<Long> orderIds) {
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        if (requested.isEmpty()) {
+            return DeliveryBatchResult.builder().missingOrderIds(Set.of()).build();
+        }
+        
+        Map<Long, Order> orders = orderRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Set<Long> alreadyDelivered = deliveryRepository.findByOrderIdIn(requested).stream()
+                .map(Delivery::getOrderId)
+                .collect(Collectors.toSet());
+        Set<Long> restaurantIds = orders.values().stream()
+                .map(Order::getRestaurantId)
+                .collect(Collectors.toSet());
+        Map<Long, Restaurant> restaurants = restaurantRepository.findAllById(restaurantIds).stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        
+        Set<Long> missing = new LinkedHashSet<>();
+        List<Delivery> deliveries = new ArrayList<>();
+        for (Long orderId : requested) {
+            Order order = orders.get(orderId);
+            Restaurant restaurant = order == null ? null : restaurants.get(order.getRestaurantId());
+            if (restaurant == null) {
+                missing.add(orderId);
+            } else if (!alreadyDelivered.contains(orderId)) {
+                deliveries.add(newDelivery(order, restaurant));
+            }
+        }
+        
+        deliveryRepository.saveAll(deliveries);
+        
+        return DeliveryBatchResult.builder()
+                .created(deliveries.size())
+                .skipped(alreadyDelivered.size())
+                .missingOrderIds(missing)
+                .build();
+    }
+    
     @Transactional
     public DeliveryResponse assignDeliveryPartner(Long orderId, Long deliveryPartnerId) {
         Delivery delivery = deliveryRepository.findByOrderId(orderId)
@@ -101,16 +146,17 @@ public class DeliveryService {
         return mapToResponse(delivery);
     }
     
-    @KafkaListener(topics = "order-events", groupId = "delivery-service")
-    public void handleOrderEvent(com.fooddelivery.order.event.OrderEvent event) {
-        if ("ORDER_ACCEPTED".equals(event.getEventType())) {
-            // Auto-create delivery when order is accepted
-            try {
-                createDelivery(event.getOrderId());
-            } catch (Exception e) {
-                // Log error - delivery might already exist
-            }
-        }
+    private Delivery newDelivery(Order order, Restaurant restaurant) {
+        return Delivery.builder()
+                .orderId(order.getId())
+                .status(DeliveryStatus.PENDING)
+                .pickupAddress(restaurant.getAddress() + ", " + restaurant.getCity())
+                .deliveryAddress(order.getDeliveryAddress())
+                .estimatedDeliveryTime(LocalDateTime.now().plusMinutes(
+                        restaurant.getEstimatedDeliveryTimeMinutes() != null ? 
+                        restaurant.getEstimatedDeliveryTimeMinutes() : 30))
+                .trackingUrl("https://track.fooddelivery.com/" + order.getOrderNumber())
+                .build();
     }
     
     private DeliveryResponse mapToResponse(Delivery delivery) {
@@ -1,7 +1,9 @@
 package com.fooddelivery.order.controller;
 
 import com.fooddelivery.common.enums.OrderStatus;
+import com.fooddelivery.common.idempotency.IdempotencyService;
 import com.fooddelivery.common.util.SecurityUtil;
+import com.fooddelivery.order.dto.OrderCursorPage;
 import com.fooddelivery.order.dto.OrderRequest;
 import com.fooddelivery.order.dto.OrderResponse;
 import com.fooddelivery.order.service.OrderService;
@@ -27,14 +29,19 @@ public class OrderController {
     
     private final OrderService orderService;
     private final SecurityUtil securityUtil;
+    private final IdempotencyService idempotencyService;
     
     @PostMapping
     @Operation(summary = "Place a new order")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody OrderRequest request) {
+    public ResponseEntity<OrderResponse> placeOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         Long customerId = securityUtil.getCurrentUserId();
-        OrderResponse response = orderService.placeOrder(request, customerId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return idempotencyService.execute("order", customerId, idempotencyKey, request, OrderResponse.class, () -> {
+            OrderResponse response = orderService.placeOrder(request, customerId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
     }
     
     @GetMapping("/{id}")
@@ -63,6 +70,17 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/my-orders/feed")
+    @Operation(summary = "Get orders for current customer using a continuation cursor")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<OrderCursorPage> getMyOrdersFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Long customerId = securityUtil.getCurrentUserId();
+        OrderCursorPage response = orderService.getByCustomer(customerId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/restaurant/{restaurantId}")
     @Operation(summary = "Get orders for a restaurant")
     @PreAuthorize("hasRole('RESTAURANT_OWNER')")
@@ -73,6 +91,17 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/restaurant/{restaurantId}/feed")
+    @Operation(summary = "Get orders for a restaurant using a continuation cursor")
+    @PreAuthorize("hasRole('RESTAURANT_OWNER')")
+    public ResponseEntity<OrderCursorPage> getRestaurantOrdersFeed(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        OrderCursorPage response = orderService.getByRestaurant(restaurantId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}/status")
     @Operation(summary = "Update order status")
     @PreAuthorize("hasAnyRole('RESTAURANT_OWNER', 'DELIVERY_PARTNER', 'ADMIN')")
@@ -0,0 +1,19 @@
+package com.fooddelivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderCursorPage {
+    private List<OrderResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // opaque; pass back as ?cursor= to continue
+}
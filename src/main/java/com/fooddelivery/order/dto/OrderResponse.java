@@ -30,6 +30,7 @@ public class OrderResponse {
     private String deliveryPhone;
     private String specialInstructions;
     private Long deliveryPartnerId;
+    private Long menuVersion;
     private List<OrderItemResponse> orderItems;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
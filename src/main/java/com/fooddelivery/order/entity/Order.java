@@ -1,14 +1,15 @@
 package com.fooddelivery.order.entity;
 
-import com.fooddelivery.common.entity.BaseEntity;
+import com.fooddelivery.common.entity.PooledSequenceEntity;
 import com.fooddelivery.common.enums.OrderStatus;
+import com.fooddelivery.common.id.BusinessIds;
+import com.fooddelivery.common.money.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +24,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Order extends BaseEntity {
+public class Order extends PooledSequenceEntity {
     
     @Column(name = "order_number", nullable = false, unique = true, length = 50)
     private String orderNumber;
@@ -40,16 +41,16 @@ public class Order extends BaseEntity {
     private OrderStatus status = OrderStatus.PLACED;
     
     @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
-    private BigDecimal subtotal;
+    private Money subtotal;
     
     @Column(name = "delivery_fee", precision = 10, scale = 2)
-    private BigDecimal deliveryFee;
+    private Money deliveryFee;
     
     @Column(name = "tax", precision = 10, scale = 2)
-    private BigDecimal tax;
+    private Money tax;
     
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @Column(name = "delivery_address", nullable = false, length = 500)
     private String deliveryAddress;
@@ -69,6 +70,10 @@ public class Order extends BaseEntity {
     @Column(name = "delivery_partner_id")
     private Long deliveryPartnerId;
     
+    // Restaurant menu_version the items were priced from
+    @Column(name = "menu_version")
+    private Long menuVersion;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -76,7 +81,7 @@ public class Order extends BaseEntity {
     @PrePersist
     public void generateOrderNumber() {
         if (orderNumber == null) {
-            orderNumber = "ORD" + System.currentTimeMillis();
+            orderNumber = BusinessIds.orderNumber();
         }
     }
 }
@@ -0,0 +1,36 @@
+package com.fooddelivery.order.entity;
+
+import com.fooddelivery.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order event waiting to be relayed to Kafka. Rows are written in the same transaction
+ * as the order change and deleted once the broker has acknowledged them.
+ * <p>
+ * Ids are database-assigned one at a time rather than pooled: the relay orders by id, and pooled
+ * blocks reserved by different instances do not follow the order events were written in.
+ */
+@Entity
+@Table(name = "order_outbox")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseEntity {
+    
+    // Kafka record key; events with the same key are relayed in id order
+    @Column(name = "aggregate_key", nullable = false, length = 50)
+    private String aggregateKey;
+    
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+}
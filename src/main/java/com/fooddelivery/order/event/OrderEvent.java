@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class OrderEvent {
+    private Long eventId; // outbox row id; the relay delivers at least once, so dedupe on this
     private Long orderId;
     private String orderNumber;
     private Long customerId;
@@ -0,0 +1,34 @@
+package com.fooddelivery.order.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link OrderEvent}s in the binary format. JSON payloads written before the format
+ * switch are still accepted, so records already on the topic can be consumed during a
+ * rolling upgrade.
+ */
+public class OrderEventDeserializer implements Deserializer<OrderEvent> {
+    
+    private final ObjectMapper legacyJson = new ObjectMapper().findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    @Override
+    public OrderEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (data[0] == '{') {
+                return legacyJson.readValue(data, OrderEvent.class);
+            }
+            return OrderEventCodec.decode(data);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not deserialize OrderEvent from " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.fooddelivery.order.event;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Writes {@link OrderEvent}s in the compact binary format described in {@link OrderEventCodec}.
+ */
+public class OrderEventSerializer implements Serializer<OrderEvent> {
+    
+    @Override
+    public byte[] serialize(String topic, OrderEvent event) {
+        return event == null ? null : OrderEventCodec.encode(event);
+    }
+}
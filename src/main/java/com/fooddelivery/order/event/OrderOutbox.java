@@ -0,0 +1,39 @@
+package com.fooddelivery.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.order.entity.OutboxEvent;
+import com.fooddelivery.order.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records order events in the outbox table as part of the caller's transaction, so an event
+ * exists if and only if the order change commits. {@link OutboxRelay} ships them to Kafka.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateKey(event.getOrderNumber())
+                .eventType(event.getEventType())
+                .payload(write(event))
+                .build());
+    }
+    
+    private String write(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order event", e);
+        }
+    }
+}
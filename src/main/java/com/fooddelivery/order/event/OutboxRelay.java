@@ -0,0 +1,153 @@
+package com.fooddelivery.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.order.entity.OutboxEvent;
+import com.fooddelivery.order.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the order outbox to the order-events topic in batches.
+ * <p>
+ * Each batch is read oldest-first and sent in one go, then the relay waits for the broker
+ * acknowledgements and deletes the rows that were acknowledged. If a send fails, that row
+ * and every later row with the same key stay in the outbox, so per-order ordering holds on
+ * the retry. Rows can be sent more than once, e.g. after a crash between ack and delete, so
+ * consumers should dedupe on {@link OrderEvent#getEventId()}.
+ * <p>
+ * Reading and deleting are separate short transactions; no connection is held while waiting
+ * for Kafka. A lease row in {@code order_outbox_lease}, renewed with every batch, keeps a single
+ * relay active across instances instead. It lasts {@code lease} (longer than a batch can take),
+ * so another instance takes over that long after the holder stops.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    
+    public static final String ORDER_TOPIC = "order-events";
+    
+    static final String LEASE_NAME = "relay";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration lease;
+    private final String holder = UUID.randomUUID().toString();
+    
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${app.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${app.outbox.relay.send-timeout:10s}") Duration sendTimeout,
+            @Value("${app.outbox.relay.lease:30s}") Duration lease) {
+        if (lease.compareTo(sendTimeout) <= 0) {
+            throw new IllegalArgumentException("app.outbox.relay.lease must be longer than send-timeout");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.lease = lease;
+    }
+    
+    /**
+     * Runs every linger interval. Full batches are drained back to back, so a backlog clears
+     * without waiting; the linger only applies once the outbox is nearly empty.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.linger-ms:100}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+    
+    /**
+     * Sends one batch and deletes what the broker acknowledged. Returns the number of rows
+     * relayed, or 0 if another instance holds the relay lease or a send failed.
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            if (outboxEventRepository.tryAcquireLease(LEASE_NAME, holder, lease.toMillis() / 1000.0) == 0) {
+                return List.<OutboxEvent>of();
+            }
+            return outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent row : batch) {
+            sends.add(send(row));
+        }
+        // The whole batch is already queued in the producer, so skip its linger and send now
+        kafkaTemplate.flush();
+        
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        Set<String> failedKeys = new HashSet<>();
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent row = batch.get(i);
+            if (failedKeys.contains(row.getAggregateKey())) {
+                continue;
+            }
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(row.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedKeys.add(row.getAggregateKey());
+            } catch (Exception e) {
+                log.warn("Outbox event {} for {} not acknowledged, will retry: {}",
+                        row.getId(), row.getAggregateKey(), e.getMessage());
+                failedKeys.add(row.getAggregateKey());
+            }
+        }
+        
+        if (!acknowledged.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(acknowledged);
+        }
+        return failedKeys.isEmpty() ? acknowledged.size() : 0;
+    }
+    
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent row) {
+        try {
+            OrderEvent event = objectMapper.readValue(row.getPayload(), OrderEvent.class);
+            event.setEventId(row.getId());
+            return kafkaTemplate.send(ORDER_TOPIC, row.getAggregateKey(), event);
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
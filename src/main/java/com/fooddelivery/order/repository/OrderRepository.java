@@ -4,9 +4,14 @@ import com.fooddelivery.common.enums.OrderStatus;
 import com.fooddelivery.order.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +25,42 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByStatus(OrderStatus status);
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     List<Order> findByDeliveryPartnerId(Long deliveryPartnerId);
+
+    // Two-phase paging: page over ids first, then fetch the rows with their items
+    @Query(value = "SELECT o.id FROM Order o WHERE o.customerId = :customerId",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.customerId = :customerId")
+    Page<Long> findIdsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.restaurantId = :restaurantId",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.restaurantId = :restaurantId")
+    Page<Long> findIdsByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    // Keyset (seek) paging on (created_at, id), newest first; no count query
+    @Query("SELECT o.id FROM Order o WHERE o.customerId = :customerId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findFirstIdsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.customerId = :customerId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findIdsByCustomerIdBefore(@Param("customerId") Long customerId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurantId = :restaurantId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findFirstIdsByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurantId = :restaurantId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findIdsByRestaurantIdBefore(@Param("restaurantId") Long restaurantId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
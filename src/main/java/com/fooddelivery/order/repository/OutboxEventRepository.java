@@ -0,0 +1,29 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.order.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Ids are taken one at a time at insert, so for each order they follow the order its events were written
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> findOldest(Pageable pageable);
+    
+    // Takes the lease if it is free or expired, or renews it for its holder; 1 if the caller now holds it.
+    // Uses the database clock, so instances with skewed clocks agree on expiry.
+    @Modifying
+    @Query(value = "UPDATE order_outbox_lease SET holder = :holder, " +
+                   "expires_at = LOCALTIMESTAMP + :leaseSeconds * INTERVAL '1 second' " +
+                   "WHERE name = :name AND (holder = :holder OR expires_at < LOCALTIMESTAMP)", nativeQuery = true)
+    int tryAcquireLease(@Param("name") String name,
+                        @Param("holder") String holder,
+                        @Param("leaseSeconds") double leaseSeconds);
+}
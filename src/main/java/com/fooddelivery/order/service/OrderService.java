@@ -3,28 +3,37 @@ package com.fooddelivery.order.service;
 import com.fooddelivery.common.enums.OrderStatus;
 import com.fooddelivery.common.enums.RestaurantStatus;
 import com.fooddelivery.common.exception.ResourceNotFoundException;
+import com.fooddelivery.common.money.Money;
+import com.fooddelivery.order.dto.CartItemRequest;
+import com.fooddelivery.order.dto.OrderCursorPage;
 import com.fooddelivery.order.dto.OrderItemResponse;
 import com.fooddelivery.order.dto.OrderRequest;
 import com.fooddelivery.order.dto.OrderResponse;
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.entity.OrderItem;
 import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OrderOutbox;
 import com.fooddelivery.order.repository.OrderItemRepository;
 import com.fooddelivery.order.repository.OrderRepository;
-import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.entity.Restaurant;
-import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.service.MenuSnapshot;
+import com.fooddelivery.restaurant.service.MenuSnapshotRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,13 +43,17 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final RestaurantRepository restaurantRepository;
-    private final MenuItemRepository menuItemRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MenuSnapshotRegistry menuSnapshots;
+    private final OrderOutbox orderOutbox;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String ORDER_TOPIC = "order-events";
-    private static final BigDecimal TAX_RATE = new BigDecimal("0.18");
+    // 18% tax, rounded half-up to the paisa once per order, so the stored tax is exactly what was charged
+    private static final long TAX_RATE_PERCENT = 18;
+    private static final RoundingMode TAX_ROUNDING = RoundingMode.HALF_UP;
+    private static final int MAX_FEED_SIZE = 100;
 
-    @Transactional
+    // Not @Transactional: the restaurant and menu are read first, so a menu snapshot load never needs
+    // a second connection while the order transaction holds one; only the writes run in a transaction
     public OrderResponse placeOrder(OrderRequest request, Long customerId) {
 
         Restaurant restaurant = restaurantRepository.findById(request.getRestaurantId())
@@ -50,67 +63,93 @@ public class OrderService {
             throw new IllegalArgumentException("Restaurant not accepting orders");
         }
 
-        List<OrderItem> orderItems = request.getItems().stream()
-                .map(req -> {
-
-                    MenuItem menuItem = menuItemRepository.findById(req.getMenuItemId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-
-                    if (!menuItem.getAvailable()) {
-                        throw new IllegalArgumentException("Menu item unavailable");
-                    }
-
-                    BigDecimal total = menuItem.getPrice()
-                            .multiply(BigDecimal.valueOf(req.getQuantity()));
-
-                    return OrderItem.builder()
-                            .menuItemId(menuItem.getId())
-                            .menuItemName(menuItem.getName())
-                            .quantity(req.getQuantity())
-                            .unitPrice(menuItem.getPrice())
-                            .totalPrice(total)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        BigDecimal subtotal = orderItems.stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal deliveryFee = restaurant.getDeliveryFee() == null
-                ? BigDecimal.ZERO
-                : restaurant.getDeliveryFee();
-
-        BigDecimal tax = subtotal.multiply(TAX_RATE);
-        BigDecimal totalAmount = subtotal.add(deliveryFee).add(tax);
+        // Priced from the in-memory menu snapshot, so the catalog is not queried per order; a snapshot
+        // behind the restaurant's menu version is rebuilt first
+        MenuSnapshot menu = menuSnapshots.get(restaurant.getId(), restaurant.getMenuVersion());
+        List<OrderItem> orderItems = priceItems(menu, request.getItems());
 
         Order order = Order.builder()
                 .customerId(customerId)
                 .restaurantId(restaurant.getId())
                 .status(OrderStatus.PLACED)
-                .subtotal(subtotal)
-                .deliveryFee(deliveryFee)
-                .tax(tax)
-                .totalAmount(totalAmount)
                 .deliveryAddress(request.getDeliveryAddress())
                 .deliveryCity(request.getDeliveryCity())
                 .deliveryPincode(request.getDeliveryPincode())
                 .deliveryPhone(request.getDeliveryPhone())
                 .specialInstructions(request.getSpecialInstructions())
+                .menuVersion(menu.getVersion())
                 .build();
 
+        applyTotals(order, orderItems, restaurant.getDeliveryFee());
+
+        return transactionTemplate.execute(status -> saveOrder(order, orderItems));
+    }
+
+    private OrderResponse saveOrder(Order order, List<OrderItem> orderItems) {
+
         // ✅ Correct persistence flow
         Order savedOrder = orderRepository.save(order);
 
         orderItems.forEach(i -> i.setOrder(savedOrder));
-        orderItemRepository.saveAll(orderItems);
-        savedOrder.setOrderItems(orderItems);
+        // Sequence ids defer the inserts to flush, where the items go out as one JDBC batch;
+        // flushing here also fills in createdAt for the response
+        orderItemRepository.saveAllAndFlush(orderItems);
+        // Added to the managed collection: replacing it would orphan it, which Hibernate rejects at commit
+        savedOrder.getOrderItems().addAll(orderItems);
 
         publishOrderEvent(savedOrder, "ORDER_PLACED");
 
         return mapToResponse(savedOrder);
     }
 
+    static List<OrderItem> priceItems(MenuSnapshot menu, List<CartItemRequest> cartItems) {
+
+        return cartItems.stream()
+                .map(req -> {
+
+                    int index = menu.indexOf(req.getMenuItemId());
+                    if (index < 0) {
+                        throw new ResourceNotFoundException("Menu item not found: " + req.getMenuItemId());
+                    }
+
+                    if (!menu.isAvailable(index)) {
+                        throw new IllegalArgumentException("Menu item unavailable");
+                    }
+
+                    Money unitPrice = Money.ofMinorUnits(menu.priceCents(index));
+
+                    return OrderItem.builder()
+                            .menuItemId(req.getMenuItemId())
+                            .menuItemName(menu.name(index))
+                            .quantity(req.getQuantity())
+                            .unitPrice(unitPrice)
+                            .totalPrice(unitPrice.times(req.getQuantity()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    static void applyTotals(Order order, List<OrderItem> orderItems, BigDecimal restaurantDeliveryFee) {
+
+        Money subtotal = Money.ZERO;
+        for (OrderItem item : orderItems) {
+            subtotal = subtotal.plus(item.getTotalPrice());
+        }
+
+        // Rounded the way the numeric(10,2) column would round it
+        Money deliveryFee = restaurantDeliveryFee == null
+                ? Money.ZERO
+                : Money.of(restaurantDeliveryFee, RoundingMode.HALF_UP);
+
+        Money tax = subtotal.multiply(TAX_RATE_PERCENT, 100, TAX_ROUNDING);
+        Money totalAmount = subtotal.plus(deliveryFee).plus(tax);
+
+        order.setSubtotal(subtotal);
+        order.setDeliveryFee(deliveryFee);
+        order.setTax(tax);
+        order.setTotalAmount(totalAmount);
+    }
+
     public OrderResponse getById(Long id) {
         return orderRepository.findById(id)
                 .map(this::mapToResponse)
@@ -123,14 +162,101 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
     }
 
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getByCustomer(Long customerId, Pageable pageable) {
-        return orderRepository.findByCustomerId(customerId, pageable)
-                .map(this::mapToResponse);
+        return loadWithItems(orderRepository.findIdsByCustomerId(customerId, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getByRestaurant(Long restaurantId, Pageable pageable) {
-        return orderRepository.findByRestaurantId(restaurantId, pageable)
-                .map(this::mapToResponse);
+        return loadWithItems(orderRepository.findIdsByRestaurantId(restaurantId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderCursorPage getByCustomer(Long customerId, String cursor, int size) {
+        int limit = feedSize(size);
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Long> ids;
+        if (cursor == null) {
+            ids = orderRepository.findFirstIdsByCustomerId(customerId, window);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            ids = orderRepository.findIdsByCustomerIdBefore(
+                    customerId, position.getCreatedAt(), position.getId(), window);
+        }
+        return loadCursorPage(ids, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderCursorPage getByRestaurant(Long restaurantId, String cursor, int size) {
+        int limit = feedSize(size);
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<Long> ids;
+        if (cursor == null) {
+            ids = orderRepository.findFirstIdsByRestaurantId(restaurantId, window);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            ids = orderRepository.findIdsByRestaurantIdBefore(
+                    restaurantId, position.getCreatedAt(), position.getId(), window);
+        }
+        return loadCursorPage(ids, limit);
+    }
+
+    private int feedSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_FEED_SIZE);
+    }
+
+    /**
+     * Builds a keyset page from up to {@code limit + 1} seek ids; the extra id only
+     * signals that another page exists and is not returned.
+     */
+    private OrderCursorPage loadCursorPage(List<Long> ids, int limit) {
+
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+
+        if (pageIds.isEmpty()) {
+            return OrderCursorPage.builder()
+                    .content(List.of())
+                    .size(0)
+                    .hasNext(false)
+                    .build();
+        }
+
+        Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Order last = orders.get(pageIds.get(pageIds.size() - 1));
+
+        return OrderCursorPage.builder()
+                .content(pageIds.stream()
+                        .map(id -> mapToResponse(orders.get(id)))
+                        .collect(Collectors.toList()))
+                .size(pageIds.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new OrderCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Second phase of the paged listings: fetches the orders of an id page together
+     * with their items in one query and restores the page's ordering.
+     */
+    private Page<OrderResponse> loadWithItems(Page<Long> idPage) {
+
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+
+        Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(idPage.getContent())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return idPage.map(id -> mapToResponse(orders.get(id)));
     }
 
     @Transactional
@@ -185,15 +311,16 @@ public class OrderService {
                 .customerId(order.getCustomerId())
                 .restaurantId(order.getRestaurantId())
                 .status(order.getStatus())
-                .totalAmount(order.getTotalAmount())
+                .totalAmount(amount(order.getTotalAmount()))
                 .timestamp(LocalDateTime.now())
                 .eventType(type)
                 .build();
 
-        kafkaTemplate.send(ORDER_TOPIC, event.getOrderNumber(), event);
+        // Written in the caller's transaction; OutboxRelay sends it to Kafka after commit
+        orderOutbox.append(event);
     }
 
-    private OrderResponse mapToResponse(Order order) {
+    OrderResponse mapToResponse(Order order) {
 
         List<OrderItemResponse> items = order.getOrderItems().stream()
                 .map(i -> OrderItemResponse.builder()
@@ -201,8 +328,8 @@ public class OrderService {
                         .menuItemId(i.getMenuItemId())
                         .menuItemName(i.getMenuItemName())
                         .quantity(i.getQuantity())
-                        .unitPrice(i.getUnitPrice())
-                        .totalPrice(i.getTotalPrice())
+                        .unitPrice(amount(i.getUnitPrice()))
+                        .totalPrice(amount(i.getTotalPrice()))
                         .build())
                 .collect(Collectors.toList());
 
@@ -212,19 +339,24 @@ public class OrderService {
                 .customerId(order.getCustomerId())
                 .restaurantId(order.getRestaurantId())
                 .status(order.getStatus())
-                .subtotal(order.getSubtotal())
-                .deliveryFee(order.getDeliveryFee())
-                .tax(order.getTax())
-                .totalAmount(order.getTotalAmount())
+                .subtotal(amount(order.getSubtotal()))
+                .deliveryFee(amount(order.getDeliveryFee()))
+                .tax(amount(order.getTax()))
+                .totalAmount(amount(order.getTotalAmount()))
                 .deliveryAddress(order.getDeliveryAddress())
                 .deliveryCity(order.getDeliveryCity())
                 .deliveryPincode(order.getDeliveryPincode())
                 .deliveryPhone(order.getDeliveryPhone())
                 .specialInstructions(order.getSpecialInstructions())
                 .deliveryPartnerId(order.getDeliveryPartnerId())
+                .menuVersion(order.getMenuVersion())
                 .orderItems(items)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .build();
     }
+
+    private static BigDecimal amount(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
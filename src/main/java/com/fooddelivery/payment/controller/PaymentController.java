@@ -1,5 +1,7 @@
 package com.fooddelivery.payment.controller;
 
+import com.fooddelivery.common.idempotency.IdempotencyService;
+import com.fooddelivery.common.util.SecurityUtil;
 import com.fooddelivery.payment.dto.PaymentRequest;
 import com.fooddelivery.payment.dto.PaymentResponse;
 import com.fooddelivery.payment.service.PaymentService;
@@ -8,11 +10,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
@@ -21,13 +24,22 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
     
     private final PaymentService paymentService;
+    private final SecurityUtil securityUtil;
+    private final IdempotencyService idempotencyService;
     
     @PostMapping
-    @Operation(summary = "Process payment for an order")
+    @Operation(summary = "Start payment for an order; poll the Location for the outcome")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request) {
-        PaymentResponse response = paymentService.processPayment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<PaymentResponse> processPayment(
+            @Valid @RequestBody PaymentRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Long customerId = securityUtil.getCurrentUserId();
+        return idempotencyService.execute("payment", customerId, idempotencyKey, request, PaymentResponse.class, () -> {
+            PaymentResponse response = paymentService.processPayment(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/payments/order/" + response.getOrderId()))
+                    .body(response);
+        });
     }
     
     @GetMapping("/order/{orderId}")
@@ -1,8 +1,9 @@
 package com.fooddelivery.payment.entity;
 
-import com.fooddelivery.common.entity.BaseEntity;
+import com.fooddelivery.common.entity.PooledSequenceEntity;
 import com.fooddelivery.common.enums.PaymentMethod;
 import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.common.id.BusinessIds;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,9 +22,9 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Payment extends BaseEntity {
+public class Payment extends PooledSequenceEntity {
     
-    @Column(name = "order_id", nullable = false)
+    @Column(name = "order_id", nullable = false, unique = true)
     private Long orderId;
     
     @Column(name = "transaction_id", unique = true, length = 100)
@@ -50,7 +51,7 @@ public class Payment extends BaseEntity {
     @PrePersist
     public void generateTransactionId() {
         if (transactionId == null) {
-            transactionId = "TXN" + System.currentTimeMillis();
+            transactionId = BusinessIds.transactionId();
         }
     }
 }
@@ -0,0 +1,21 @@
+package com.fooddelivery.payment.event;
+
+import com.fooddelivery.common.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentInitiatedEvent {
+    private Long paymentId;
+    private Long orderId;
+    private String transactionId;
+    private PaymentMethod paymentMethod;
+    private BigDecimal amount;
+}
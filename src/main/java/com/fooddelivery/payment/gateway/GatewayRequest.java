@@ -0,0 +1,21 @@
+package com.fooddelivery.payment.gateway;
+
+import com.fooddelivery.common.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GatewayRequest {
+    private Long paymentId;
+    private Long orderId;
+    private String transactionId;
+    private PaymentMethod paymentMethod;
+    private BigDecimal amount;
+}
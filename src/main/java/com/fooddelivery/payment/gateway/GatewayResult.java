@@ -0,0 +1,52 @@
+package com.fooddelivery.payment.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GatewayResult {
+    
+    public enum Outcome {
+        APPROVED,
+        // The gateway refused the charge; the only outcome that fails a payment
+        DECLINED,
+        // Turned away before reaching the gateway (bulkhead full, circuit open); nothing was charged
+        NOT_ATTEMPTED,
+        // Timed out or errored; the gateway may or may not have charged
+        UNKNOWN
+    }
+    
+    private Outcome outcome;
+    private String gatewayResponse;
+    private String failureReason;
+    
+    public boolean isApproved() {
+        return outcome == Outcome.APPROVED;
+    }
+    
+    // Approved or declined; anything else is retried with the same transaction id
+    public boolean isFinal() {
+        return outcome == Outcome.APPROVED || outcome == Outcome.DECLINED;
+    }
+    
+    public static GatewayResult approved(String gatewayResponse) {
+        return new GatewayResult(Outcome.APPROVED, gatewayResponse, null);
+    }
+    
+    public static GatewayResult declined(String gatewayResponse, String failureReason) {
+        return new GatewayResult(Outcome.DECLINED, gatewayResponse, failureReason);
+    }
+    
+    public static GatewayResult notAttempted(String gatewayResponse, String failureReason) {
+        return new GatewayResult(Outcome.NOT_ATTEMPTED, gatewayResponse, failureReason);
+    }
+    
+    public static GatewayResult unknown(String gatewayResponse, String failureReason) {
+        return new GatewayResult(Outcome.UNKNOWN, gatewayResponse, failureReason);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.payment.gateway;
+
+/**
+ * Charges a payment with an external provider. Implementations may block; callers go
+ * through {@link PaymentGatewayClient}, which applies the bulkhead, timeout and circuit breaker.
+ * A declined charge is a normal result; exceptions mean the gateway itself failed.
+ * <p>
+ * A payment can be charged more than once with the same {@code transactionId},
+ * e.g. when an unfinished payment is recovered. Implementations must send it to the provider as
+ * the idempotency key, so a repeat returns the first outcome rather than charging again.
+ */
+public interface PaymentGateway {
+    
+    String getName();
+    
+    GatewayResult charge(GatewayRequest request);
+}
@@ -0,0 +1,142 @@
+package com.fooddelivery.payment.gateway;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calls the configured {@link PaymentGateway} through a bulkhead, a circuit breaker and a
+ * call timeout, so a slow or failing provider only degrades payments. Never throws: every
+ * outcome, including rejections, becomes a {@link GatewayResult}. Rejections are
+ * {@code NOT_ATTEMPTED}; timeouts and errors are {@code UNKNOWN}, since the provider may have
+ * charged before the call was abandoned. Metrics are published as
+ * resilience4j.* meters plus a payment.gateway.calls timer tagged by outcome.
+ */
+@Component
+@Slf4j
+public class PaymentGatewayClient {
+    
+    private final PaymentGateway gateway;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService callExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    public PaymentGatewayClient(
+            PaymentGateway gateway,
+            MeterRegistry meterRegistry,
+            @Value("${app.payment.gateway.max-concurrent-calls:25}") int maxConcurrentCalls,
+            @Value("${app.payment.gateway.max-wait:0ms}") Duration maxWait,
+            @Value("${app.payment.gateway.timeout:3s}") Duration timeout,
+            @Value("${app.payment.gateway.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.payment.gateway.circuit-breaker.slow-call-threshold:2s}") Duration slowCallThreshold,
+            @Value("${app.payment.gateway.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${app.payment.gateway.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${app.payment.gateway.circuit-breaker.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${app.payment.gateway.circuit-breaker.wait-in-open-state:30s}") Duration waitInOpenState) {
+        this.gateway = gateway;
+        this.meterRegistry = meterRegistry;
+        
+        String name = "payment-gateway-" + gateway.getName();
+        
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .build());
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(timeout)
+                .cancelRunningFuture(true)
+                .build());
+        
+        this.bulkhead = bulkheads.bulkhead(name);
+        this.circuitBreaker = circuitBreakers.circuitBreaker(name);
+        this.timeLimiter = timeLimiters.timeLimiter(name);
+        
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiters).bindTo(meterRegistry);
+        
+        // Bounded by the bulkhead; threads exist only so the time limiter can interrupt a hung call
+        this.callExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory(name + "-"));
+    }
+    
+    public GatewayResult charge(GatewayRequest request) {
+        Callable<GatewayResult> call = timeLimiter.decorateFutureSupplier(
+                () -> callExecutor.submit(() -> gateway.charge(request)));
+        // Bulkhead outermost so rejected calls do not count against the circuit breaker
+        Callable<GatewayResult> guarded = Bulkhead.decorateCallable(bulkhead,
+                CircuitBreaker.decorateCallable(circuitBreaker, call));
+        
+        long start = System.nanoTime();
+        GatewayResult result;
+        String outcome;
+        try {
+            result = guarded.call();
+            outcome = result.isApproved() ? "approved" : "declined";
+        } catch (BulkheadFullException e) {
+            outcome = "rejected";
+            result = GatewayResult.notAttempted("Payment gateway busy", "Too many concurrent gateway calls");
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            result = GatewayResult.notAttempted("Payment gateway unavailable", "Payment gateway circuit is open");
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            result = GatewayResult.unknown("Payment gateway timed out", "No response from payment gateway");
+        } catch (Exception e) {
+            log.warn("Payment gateway call failed for payment {}", request.getPaymentId(), e);
+            outcome = "error";
+            result = GatewayResult.unknown("Payment gateway error", "Payment gateway error");
+        }
+        
+        Timer.builder("payment.gateway.calls")
+                .tag("gateway", gateway.getName())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+        
+        return result;
+    }
+    
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,85 @@
+package com.fooddelivery.payment.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process gateway for local runs and load tests. Latency is a base delay plus uniform
+ * jitter, with an optional slow tail; it can also decline charges and throw gateway errors.
+ * <p>
+ * Like a real gateway it is idempotent on {@code transactionId}: the first approval or decline
+ * is remembered and returned again for repeat charges. Errors decide nothing, so a charge
+ * retried after one draws a fresh outcome.
+ */
+@Component
+public class StubPaymentGateway implements PaymentGateway {
+    
+    private static final long REMEMBERED_CHARGES = 100_000;
+    
+    private final double successRate;
+    private final double errorRate;
+    private final long baseDelayMs;
+    private final long jitterMs;
+    private final double tailProbability;
+    private final long tailDelayMs;
+    private final Cache<String, GatewayResult> outcomes = Caffeine.newBuilder()
+            .maximumSize(REMEMBERED_CHARGES)
+            .build();
+    
+    public StubPaymentGateway(
+            @Value("${app.payment.mock-gateway.success-rate:0.95}") double successRate,
+            @Value("${app.payment.mock-gateway.error-rate:0.0}") double errorRate,
+            @Value("${app.payment.mock-gateway.processing-delay-ms:1000}") long baseDelayMs,
+            @Value("${app.payment.mock-gateway.jitter-ms:0}") long jitterMs,
+            @Value("${app.payment.mock-gateway.tail-probability:0.0}") double tailProbability,
+            @Value("${app.payment.mock-gateway.tail-delay-ms:0}") long tailDelayMs) {
+        this.successRate = successRate;
+        this.errorRate = errorRate;
+        this.baseDelayMs = baseDelayMs;
+        this.jitterMs = jitterMs;
+        this.tailProbability = tailProbability;
+        this.tailDelayMs = tailDelayMs;
+    }
+    
+    @Override
+    public String getName() {
+        return "stub";
+    }
+    
+    @Override
+    public GatewayResult charge(GatewayRequest request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        long delay = baseDelayMs;
+        if (jitterMs > 0) {
+            delay += random.nextLong(jitterMs + 1);
+        }
+        if (tailProbability > 0 && random.nextDouble() < tailProbability) {
+            delay += tailDelayMs;
+        }
+        
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Gateway call interrupted", e);
+        }
+        
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new IllegalStateException("Stub gateway error");
+        }
+        
+        return outcomes.get(request.getTransactionId(), this::decide);
+    }
+    
+    private GatewayResult decide(String transactionId) {
+        if (ThreadLocalRandom.current().nextDouble() < successRate) {
+            return GatewayResult.approved("Payment successful. Transaction ID: " + transactionId);
+        }
+        return GatewayResult.declined("Payment failed", "Payment gateway declined the transaction");
+    }
+}
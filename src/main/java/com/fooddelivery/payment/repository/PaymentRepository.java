@@ -2,9 +2,15 @@ package com.fooddelivery.payment.repository;
 
 import com.fooddelivery.common.enums.PaymentStatus;
 import com.fooddelivery.payment.entity.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +19,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(Long orderId);
     Optional<Payment> findByTransactionId(String transactionId);
     List<Payment> findByStatus(PaymentStatus status);
+    
+    List<Payment> findByStatusAndUpdatedAtBefore(PaymentStatus status, LocalDateTime cutoff, Pageable pageable);
+    
+    // Moves updated_at forward only if the payment is still stale, so one instance wins each recovery attempt
+    @Modifying
+    @Transactional
+    @Query("UPDATE Payment p SET p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.status = :status AND p.updatedAt < :cutoff")
+    int claimStale(@Param("id") Long id,
+                   @Param("status") PaymentStatus status,
+                   @Param("cutoff") LocalDateTime cutoff,
+                   @Param("now") LocalDateTime now);
 }
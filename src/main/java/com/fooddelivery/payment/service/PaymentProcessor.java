@@ -0,0 +1,97 @@
+package com.fooddelivery.payment.service;
+
+import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
+import com.fooddelivery.payment.gateway.GatewayRequest;
+import com.fooddelivery.payment.gateway.GatewayResult;
+import com.fooddelivery.payment.gateway.PaymentGatewayClient;
+import com.fooddelivery.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Second half of payment processing: once the PROCESSING record is committed, calls the
+ * gateway through {@link PaymentGatewayClient} on the payment executor and records the
+ * outcome in its own short transaction. Only an approval or a decline settles the payment; a call
+ * that was rejected locally, timed out or errored leaves it PROCESSING to be tried again.
+ * <p>
+ * A payment whose call never runs, because the executor is full or the instance stops first,
+ * stays PROCESSING; {@link PaymentRecovery} dispatches it again once it has been stuck long enough.
+ */
+@Component
+@Slf4j
+public class PaymentProcessor {
+    
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentGatewayClient gatewayClient;
+    private final Executor paymentExecutor;
+    
+    public PaymentProcessor(PaymentRepository paymentRepository,
+                            TransactionTemplate transactionTemplate,
+                            PaymentGatewayClient gatewayClient,
+                            @Qualifier("paymentExecutor") Executor paymentExecutor) {
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.gatewayClient = gatewayClient;
+        this.paymentExecutor = paymentExecutor;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentInitiated(PaymentInitiatedEvent event) {
+        dispatch(event);
+    }
+    
+    /**
+     * Queues the gateway call on the payment executor. Returns false if the executor rejected it;
+     * the payment is then left PROCESSING for {@link PaymentRecovery}.
+     */
+    boolean dispatch(PaymentInitiatedEvent event) {
+        try {
+            paymentExecutor.execute(() -> process(event));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Payment executor is full; payment {} left for recovery", event.getPaymentId());
+            return false;
+        }
+    }
+    
+    void process(PaymentInitiatedEvent event) {
+        GatewayResult result = gatewayClient.charge(GatewayRequest.builder()
+                .paymentId(event.getPaymentId())
+                .orderId(event.getOrderId())
+                .transactionId(event.getTransactionId())
+                .paymentMethod(event.getPaymentMethod())
+                .amount(event.getAmount())
+                .build());
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(event.getPaymentId()).orElse(null);
+            if (payment == null || payment.getStatus() != PaymentStatus.PROCESSING) {
+                log.warn("Skipping gateway result for payment {}: no longer processing", event.getPaymentId());
+                return;
+            }
+            
+            if (result.isFinal()) {
+                payment.setStatus(result.isApproved() ? PaymentStatus.COMPLETED : PaymentStatus.FAILED);
+            } else {
+                // Not charged yet, or not known whether it was: stays PROCESSING for PaymentRecovery,
+                // with the reason visible to anyone polling the payment
+                log.warn("Payment {} still processing after a {} gateway call: {}",
+                        payment.getId(), result.getOutcome(), result.getFailureReason());
+            }
+            payment.setGatewayResponse(result.getGatewayResponse());
+            payment.setFailureReason(result.getFailureReason());
+            
+            paymentRepository.save(payment);
+        });
+    }
+}
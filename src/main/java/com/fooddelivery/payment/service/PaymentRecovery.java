@@ -0,0 +1,83 @@
+package com.fooddelivery.payment.service;
+
+import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
+import com.fooddelivery.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dispatches PROCESSING payments again once they have not moved for {@code stale-after}: their
+ * gateway call was never queued, was turned away by the bulkhead or an open circuit, timed out or
+ * errored, or the instance running it stopped before recording the outcome.
+ * <p>
+ * Each payment is claimed by moving its updated_at forward, so with several instances only one
+ * dispatches it, and it is not picked up again until it is stale once more. A payment can reach
+ * the gateway twice this way; the charge carries the same transaction id each time, which the
+ * gateway uses to return the original outcome instead of charging again.
+ */
+@Component
+@Slf4j
+public class PaymentRecovery {
+    
+    private final PaymentRepository paymentRepository;
+    private final PaymentProcessor paymentProcessor;
+    private final boolean enabled;
+    private final Duration staleAfter;
+    private final int batchSize;
+    
+    public PaymentRecovery(
+            PaymentRepository paymentRepository,
+            PaymentProcessor paymentProcessor,
+            @Value("${app.payment.recovery.enabled:true}") boolean enabled,
+            @Value("${app.payment.recovery.stale-after:2m}") Duration staleAfter,
+            @Value("${app.payment.recovery.batch-size:100}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.paymentProcessor = paymentProcessor;
+        this.enabled = enabled;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.payment.recovery.interval-ms:30000}")
+    public void redispatchStalled() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(staleAfter);
+        List<Payment> stalled = paymentRepository.findByStatusAndUpdatedAtBefore(PaymentStatus.PROCESSING, cutoff,
+                PageRequest.of(0, batchSize, Sort.by("updatedAt")));
+        
+        for (Payment payment : stalled) {
+            if (paymentRepository.claimStale(payment.getId(), PaymentStatus.PROCESSING, cutoff, now) == 0) {
+                continue;
+            }
+            log.warn("Payment {} has been processing since {}; dispatching it again",
+                    payment.getId(), payment.getUpdatedAt());
+            if (!paymentProcessor.dispatch(event(payment))) {
+                // Executor still full; the rest wait for the next run
+                return;
+            }
+        }
+    }
+    
+    private static PaymentInitiatedEvent event(Payment payment) {
+        return PaymentInitiatedEvent.builder()
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .transactionId(payment.getTransactionId())
+                .paymentMethod(payment.getPaymentMethod())
+                .amount(payment.getAmount())
+                .build();
+    }
+}
@@ -1,6 +1,5 @@
 package com.fooddelivery.payment.service;
 
-import com.fooddelivery.common.enums.PaymentMethod;
 import com.fooddelivery.common.enums.PaymentStatus;
 import com.fooddelivery.common.exception.ResourceNotFoundException;
 import com.fooddelivery.order.entity.Order;
@@ -8,36 +7,32 @@ import com.fooddelivery.order.repository.OrderRepository;
 import com.fooddelivery.payment.dto.PaymentRequest;
 import com.fooddelivery.payment.dto.PaymentResponse;
 import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
 import com.fooddelivery.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.Random;
-
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
     
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
-    @Value("${app.payment.mock-gateway.success-rate:0.95}")
-    private double successRate;
-    
-    @Value("${app.payment.mock-gateway.processing-delay-ms:1000}")
-    private long processingDelayMs;
-    
-    private final Random random = new Random();
-    
+    /**
+     * Records the payment as PROCESSING and returns immediately; the gateway call runs
+     * asynchronously after commit (see {@link PaymentProcessor}). Poll by order id for the outcome.
+     */
     @Transactional
     public PaymentResponse processPayment(PaymentRequest request) {
         Order order = orderRepository.findById(request.getOrderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + request.getOrderId()));
         
-        // Check if payment already exists
+        // Fast path; the unique index on order_id below is what actually blocks racing duplicates
         paymentRepository.findByOrderId(order.getId())
                 .ifPresent(payment -> {
                     throw new IllegalArgumentException("Payment already exists for this order");
@@ -47,32 +42,23 @@ public class PaymentService {
         Payment payment = Payment.builder()
                 .orderId(order.getId())
                 .paymentMethod(request.getPaymentMethod())
-                .amount(order.getTotalAmount())
+                .amount(order.getTotalAmount().toBigDecimal())
                 .status(PaymentStatus.PROCESSING)
                 .build();
         
-        payment = paymentRepository.save(payment);
-        
-        // Simulate payment processing delay
         try {
-            Thread.sleep(processingDelayMs);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        // Mock payment gateway processing
-        boolean success = random.nextDouble() < successRate;
-        
-        if (success) {
-            payment.setStatus(PaymentStatus.COMPLETED);
-            payment.setGatewayResponse("Payment successful. Transaction ID: " + payment.getTransactionId());
-        } else {
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setFailureReason("Payment gateway declined the transaction");
-            payment.setGatewayResponse("Payment failed");
+            payment = paymentRepository.saveAndFlush(payment);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Payment already exists for this order");
         }
         
-        payment = paymentRepository.save(payment);
+        eventPublisher.publishEvent(PaymentInitiatedEvent.builder()
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .transactionId(payment.getTransactionId())
+                .paymentMethod(payment.getPaymentMethod())
+                .amount(payment.getAmount())
+                .build());
         
         return mapToResponse(payment);
     }
@@ -3,6 +3,7 @@ package com.fooddelivery.restaurant.controller;
 import com.fooddelivery.common.util.SecurityUtil;
 import com.fooddelivery.restaurant.dto.RestaurantRequest;
 import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
 import com.fooddelivery.restaurant.service.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -18,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/restaurants")
@@ -75,6 +77,16 @@ public class RestaurantController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping(value = "/search", params = "q")
+    @Operation(summary = "Search restaurants and dishes by text")
+    public ResponseEntity<List<RestaurantSearchResult>> searchText(
+            @RequestParam String q,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RestaurantSearchResult> response = restaurantService.search(q, city, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/my-restaurants")
     @Operation(summary = "Get restaurants owned by current user")
     @SecurityRequirement(name = "bearerAuth")
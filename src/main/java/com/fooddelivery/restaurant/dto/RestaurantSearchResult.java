@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantSearchResult {
+    private Long restaurantId;
+    private String name;
+    private String city;
+    private String cuisineType;
+    private BigDecimal averageRating;
+    private float score;
+    private List<MenuItemSearchHit> matchingItems;
+}
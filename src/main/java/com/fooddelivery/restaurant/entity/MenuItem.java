@@ -2,6 +2,8 @@ package com.fooddelivery.restaurant.entity;
 
 import com.fooddelivery.common.entity.BaseEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +17,8 @@ import java.math.BigDecimal;
     @Index(name = "idx_category", columnList = "category"),
     @Index(name = "idx_available", columnList = "available")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.menu-item") // read-mostly; see hibernate-jcache.conf
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
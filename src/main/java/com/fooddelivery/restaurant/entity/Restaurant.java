@@ -3,6 +3,8 @@ package com.fooddelivery.restaurant.entity;
 import com.fooddelivery.common.entity.BaseEntity;
 import com.fooddelivery.common.enums.RestaurantStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +20,8 @@ import java.util.List;
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_city", columnList = "city")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.restaurant") // read-mostly; see hibernate-jcache.conf
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -76,6 +80,11 @@ public class Restaurant extends BaseEntity {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
     
+    // Bumped by every menu item write; identifies the menu an order was priced from
+    @Column(name = "menu_version", nullable = false)
+    @Builder.Default
+    private Long menuVersion = 0L;
+    
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<MenuItem> menuItems = new ArrayList<>();
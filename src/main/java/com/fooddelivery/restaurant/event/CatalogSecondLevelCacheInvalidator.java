@@ -0,0 +1,56 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.common.config.CacheConfig;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps each instance's Hibernate second-level cache in step with catalog writes made elsewhere.
+ * <p>
+ * Hibernate updates the regions for writes on this instance only. Restaurant and menu changes
+ * already evict the {@code restaurants} and {@code menus} caches once they commit
+ * ({@link RestaurantCacheInvalidator}, {@link MenuCacheInvalidator}), and those evictions reach every
+ * instance over the invalidation bus, so they are mirrored here. A restaurant eviction drops that
+ * restaurant, and a menu eviction drops that restaurant, whose menu version changed with the menu,
+ * along with the menu items and the cached menu queries, since the item ids of a restaurant are not
+ * known from the key.
+ * <p>
+ * A region dropped before the writer commits would be refilled with the old row, so only
+ * after-commit evictions may be sent on these caches.
+ */
+@Component
+public class CatalogSecondLevelCacheInvalidator {
+    
+    private final SessionFactory sessionFactory;
+    
+    public CatalogSecondLevelCacheInvalidator(CacheInvalidationBus invalidationBus,
+                                              EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+    
+    void onInvalidation(String cacheName, String key) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        if (CacheConfig.RESTAURANTS.equals(cacheName)) {
+            evictRestaurant(cache, key);
+        } else if (CacheConfig.MENUS.equals(cacheName)) {
+            // A menu change also bumps the restaurant's menuVersion, and with it its @Version
+            evictRestaurant(cache, key);
+            cache.evictEntityData(MenuItem.class);
+            cache.evictQueryRegion(MenuItemRepository.MENU_BY_RESTAURANT_REGION);
+        }
+    }
+    
+    private static void evictRestaurant(org.hibernate.Cache cache, String key) {
+        if (key == null) {
+            cache.evictEntityData(Restaurant.class);
+        } else {
+            cache.evictEntityData(Restaurant.class, Long.valueOf(key));
+        }
+    }
+}
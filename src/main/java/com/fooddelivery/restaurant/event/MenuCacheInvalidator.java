@@ -0,0 +1,28 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.common.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a restaurant's cached menu once the change is committed. Evicting earlier would let a
+ * concurrent reader cache the old rows again before the commit; a rolled back change evicts nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        Cache menus = cacheManager.getCache(CacheConfig.MENUS);
+        if (menus != null) {
+            menus.evict(event.getRestaurantId());
+        }
+    }
+}
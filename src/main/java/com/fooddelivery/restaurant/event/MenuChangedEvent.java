@@ -0,0 +1,17 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published when a restaurant's menu items are created, updated or deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuChangedEvent {
+    private Long restaurantId;
+}
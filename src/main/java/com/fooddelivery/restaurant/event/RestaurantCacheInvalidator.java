@@ -0,0 +1,29 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.common.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a cached restaurant once the change is committed, for the same reason as
+ * {@link MenuCacheInvalidator}: an earlier eviction would let a concurrent reader cache the old
+ * row again, here and, through the invalidation bus, on every other instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        Cache restaurants = cacheManager.getCache(CacheConfig.RESTAURANTS);
+        if (restaurants != null) {
+            restaurants.evict(event.getRestaurantId());
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.fooddelivery.restaurant.repository;
 
 import com.fooddelivery.restaurant.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
-    // Used for non-paged menu listing (cacheable)
+    String MENU_BY_RESTAURANT_REGION = "query.menu-by-restaurant";
+
+    // Used for non-paged menu listing (cacheable); results are dropped whenever menu_items changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = MENU_BY_RESTAURANT_REGION)
+    })
     List<MenuItem> findByRestaurantId(Long restaurantId);
 
     // ✅ REQUIRED for pagination (this fixes your compile error)
@@ -26,4 +36,10 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     // Optional category filter (fine to keep)
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
+
+    // Source of the menu snapshots used by order pricing; deliberately not query-cached
+    List<MenuItem> findByRestaurantIdOrderById(Long restaurantId);
+
+    // Menus for a page of restaurants when the search index is rebuilt
+    List<MenuItem> findByRestaurantIdIn(Collection<Long> restaurantIds);
 }
@@ -11,12 +11,14 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     Page<Restaurant> findByStatus(RestaurantStatus status, Pageable pageable);
     Page<Restaurant> findByCityAndStatus(String city, RestaurantStatus status, Pageable pageable);
     List<Restaurant> findByOwnerId(Long ownerId);
+    Page<Restaurant> findByOwnerId(Long ownerId, Pageable pageable);
     
     @Query("SELECT r FROM Restaurant r WHERE r.city = :city AND r.status = :status " +
            "AND (:minPrice IS NULL OR r.minimumOrderAmount >= :minPrice) " +
@@ -28,4 +30,7 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
                                    @Param("maxPrice") BigDecimal maxPrice,
                                    @Param("cuisineType") String cuisineType,
                                    Pageable pageable);
+    
+    @Query("SELECT r.menuVersion FROM Restaurant r WHERE r.id = :id")
+    Optional<Long> findMenuVersionById(@Param("id") Long id);
 }
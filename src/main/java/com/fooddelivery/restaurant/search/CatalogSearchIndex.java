@@ -0,0 +1,389 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.MenuItemSearchHit;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over active restaurants (name, cuisine type, description) and their
+ * available menu items (name, category, description).
+ * <p>
+ * Each restaurant is one document holding its own terms and its dishes' terms, with the highest
+ * field weight each term reached. Restaurants are numbered with dense slots, so postings are
+ * primitive arrays and a search accumulates scores in arrays rather than maps. Terms are kept
+ * sorted: a query term matches indexed terms equal to it or starting with it, and prefix matches
+ * count for half. A restaurant matches when every query term is found, and is ranked by the sum
+ * of the best weight each query term hit. Matching dishes are worked out only for the restaurants
+ * returned.
+ * <p>
+ * Updates replace one restaurant at a time under a write lock, which searches wait for only while
+ * that restaurant's postings are swapped. Re-reads of one restaurant can arrive out of order, so each
+ * entry keeps the restaurant's {@code @Version} (which every restaurant and menu change bumps), and a
+ * write older than what is indexed, or than the restaurant's removal, is ignored.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    static final float RESTAURANT_NAME_WEIGHT = 3f;
+    static final float CUISINE_WEIGHT = 2f;
+    static final float RESTAURANT_DESCRIPTION_WEIGHT = 1f;
+    static final float DISH_NAME_WEIGHT = 2f;
+    static final float DISH_CATEGORY_WEIGHT = 1.5f;
+    static final float DISH_DESCRIPTION_WEIGHT = 0.5f;
+    static final float PREFIX_FACTOR = 0.5f;
+
+    // Bounds the work for very short prefixes such as "ch"
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MAX_MATCHING_ITEMS = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RestaurantEntry> restaurants = new HashMap<>();
+    // Version at which a restaurant left the index; deleted restaurants never come back
+    private final Map<Long, Long> removedAt = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private RestaurantEntry[] slots = new RestaurantEntry[64];
+    private int slotCount;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * Replaces everything indexed for this restaurant, unless a newer version of it is already applied.
+     * Restaurants that are not active are removed.
+     */
+    public void index(Restaurant restaurant, List<MenuItem> menuItems) {
+        Long id = restaurant.getId();
+        long version = restaurant.getVersion() == null ? 0 : restaurant.getVersion();
+        RestaurantEntry entry = restaurant.getStatus() == RestaurantStatus.ACTIVE
+                ? new RestaurantEntry(restaurant, menuItems, version)
+                : null;
+
+        lock.writeLock().lock();
+        try {
+            if (isNewerThanLocked(id, version)) {
+                return;
+            }
+            removeLocked(id);
+            if (entry == null) {
+                removedAt.put(id, version);
+                return;
+            }
+            removedAt.remove(id);
+            entry.slot = allocateSlot();
+            slots[entry.slot] = entry;
+            restaurants.put(entry.id, entry);
+            entry.terms.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(entry.slot, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted restaurant for good; late re-reads of it are ignored.
+     */
+    public void remove(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(restaurantId);
+            removedAt.put(restaurantId, Long.MAX_VALUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> restaurantIds() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(restaurants.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param city only restaurants in this city (case-insensitive), or null for any
+     */
+    public List<RestaurantSearchResult> search(String query, String city, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            float[] scores = new float[slotCount];
+            float[] best = new float[slotCount];
+            int[] matchedTokens = new int[slotCount];
+            int[] touched = new int[slotCount];
+            int touchedCount = 0;
+
+            for (int k = 0; k < tokens.size(); k++) {
+                touchedCount = 0;
+                String token = tokens.get(k);
+                int expanded = 0;
+                for (Map.Entry<String, Postings> term : terms.tailMap(token, true).entrySet()) {
+                    if (!term.getKey().startsWith(token) || expanded++ >= MAX_PREFIX_TERMS) {
+                        break;
+                    }
+                    float factor = term.getKey().length() == token.length() ? 1f : PREFIX_FACTOR;
+                    Postings postings = term.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        int slot = postings.slots[i];
+                        // Only restaurants that matched every earlier query term can still match
+                        if (matchedTokens[slot] != k) {
+                            continue;
+                        }
+                        float weight = postings.weights[i] * factor;
+                        if (best[slot] == 0) {
+                            touched[touchedCount++] = slot;
+                        }
+                        if (weight > best[slot]) {
+                            best[slot] = weight;
+                        }
+                    }
+                }
+                if (touchedCount == 0) {
+                    return List.of();
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int slot = touched[i];
+                    scores[slot] += best[slot];
+                    best[slot] = 0;
+                    matchedTokens[slot] = k + 1;
+                }
+            }
+
+            // Restaurants touched by the last query term matched all of them; keep the best few
+            Comparator<RestaurantEntry> ranking = (a, b) -> compare(a, b, scores);
+            PriorityQueue<RestaurantEntry> top = new PriorityQueue<>(limit + 1, ranking);
+            for (int i = 0; i < touchedCount; i++) {
+                RestaurantEntry entry = slots[touched[i]];
+                if (city != null && !city.equalsIgnoreCase(entry.city)) {
+                    continue;
+                }
+                // Most candidates rank below the current worst result; drop them without a heap operation
+                if (top.size() == limit && compare(entry, top.peek(), scores) <= 0) {
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            RestaurantEntry[] ranked = top.toArray(new RestaurantEntry[0]);
+            Arrays.sort(ranked, ranking.reversed());
+            List<RestaurantSearchResult> results = new ArrayList<>(ranked.length);
+            for (RestaurantEntry entry : ranked) {
+                results.add(entry.toResult(scores[entry.slot], tokens));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ascending rank: lower score, then lower rating, then higher id ranks lower
+    private static int compare(RestaurantEntry a, RestaurantEntry b, float[] scores) {
+        int byScore = Float.compare(scores[a.slot], scores[b.slot]);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byRating = Double.compare(a.rating, b.rating);
+        return byRating != 0 ? byRating : Long.compare(b.id, a.id);
+    }
+
+    // Whether what the index holds for this restaurant is newer than the given version
+    private boolean isNewerThanLocked(Long restaurantId, long version) {
+        RestaurantEntry current = restaurants.get(restaurantId);
+        if (current != null) {
+            return current.version > version;
+        }
+        Long removed = removedAt.get(restaurantId);
+        return removed != null && removed > version;
+    }
+
+        private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void removeLocked(Long restaurantId) {
+        RestaurantEntry entry = restaurants.remove(restaurantId);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.terms.keySet()) {
+            Postings postings = terms.get(term);
+            postings.remove(entry.slot);
+            if (postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        slots[entry.slot] = null;
+        freeSlots.push(entry.slot);
+    }
+
+    // Best weight of a query term among a document's terms: equal counts in full, a prefix for half
+    private static float match(Map<String, Float> docTerms, String token) {
+        float best = 0;
+        for (Map.Entry<String, Float> term : docTerms.entrySet()) {
+            if (term.getKey().startsWith(token)) {
+                float factor = term.getKey().length() == token.length() ? 1f : PREFIX_FACTOR;
+                best = Math.max(best, term.getValue() * factor);
+            }
+        }
+        return best;
+    }
+
+    // A term found in several fields of one document keeps its highest field weight
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    /**
+     * Slots of the restaurants containing one term, with the term's weight in each. Removal swaps
+     * in the last entry, so order is not kept.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int slot, float weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class RestaurantEntry {
+
+        private final Long id;
+        private final long version;
+        private final String name;
+        private final String city;
+        private final String cuisineType;
+        private final BigDecimal averageRating;
+        private final double rating;
+        private final Map<String, Float> terms = new HashMap<>();
+        private final List<DishEntry> dishes = new ArrayList<>();
+        private int slot;
+
+        private RestaurantEntry(Restaurant restaurant, List<MenuItem> menuItems, long version) {
+            this.id = restaurant.getId();
+            this.version = version;
+            this.name = restaurant.getName();
+            this.city = restaurant.getCity();
+            this.cuisineType = restaurant.getCuisineType();
+            this.averageRating = restaurant.getAverageRating();
+            this.rating = averageRating == null ? -1 : averageRating.doubleValue();
+            addField(terms, restaurant.getName(), RESTAURANT_NAME_WEIGHT);
+            addField(terms, restaurant.getCuisineType(), CUISINE_WEIGHT);
+            addField(terms, restaurant.getDescription(), RESTAURANT_DESCRIPTION_WEIGHT);
+            for (MenuItem item : menuItems) {
+                if (Boolean.TRUE.equals(item.getAvailable())) {
+                    DishEntry dish = new DishEntry(item);
+                    dishes.add(dish);
+                    dish.terms.forEach((term, weight) -> terms.merge(term, weight, Math::max));
+                }
+            }
+        }
+
+        private RestaurantSearchResult toResult(float score, List<String> tokens) {
+            float[] dishScores = new float[dishes.size()];
+            List<Integer> matching = new ArrayList<>();
+            for (int i = 0; i < dishes.size(); i++) {
+                for (String token : tokens) {
+                    dishScores[i] += match(dishes.get(i).terms, token);
+                }
+                if (dishScores[i] > 0) {
+                    matching.add(i);
+                }
+            }
+            matching.sort(Comparator.comparingDouble((Integer i) -> dishScores[i]).reversed()
+                    .thenComparing(i -> dishes.get(i).id));
+
+            return RestaurantSearchResult.builder()
+                    .restaurantId(id)
+                    .name(name)
+                    .city(city)
+                    .cuisineType(cuisineType)
+                    .averageRating(averageRating)
+                    .score(score)
+                    .matchingItems(matching.stream()
+                            .limit(MAX_MATCHING_ITEMS)
+                            .map(i -> dishes.get(i).toHit())
+                            .toList())
+                    .build();
+        }
+    }
+
+    private static final class DishEntry {
+
+        private final Long id;
+        private final String name;
+        private final String category;
+        private final BigDecimal price;
+        private final Map<String, Float> terms = new HashMap<>();
+
+        private DishEntry(MenuItem item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.category = item.getCategory();
+            this.price = item.getPrice();
+            addField(terms, item.getName(), DISH_NAME_WEIGHT);
+            addField(terms, item.getCategory(), DISH_CATEGORY_WEIGHT);
+            addField(terms, item.getDescription(), DISH_DESCRIPTION_WEIGHT);
+        }
+
+        private MenuItemSearchHit toHit() {
+            return MenuItemSearchHit.builder()
+                    .menuItemId(id)
+                    .name(name)
+                    .category(category)
+                    .price(price)
+                    .build();
+        }
+    }
+}
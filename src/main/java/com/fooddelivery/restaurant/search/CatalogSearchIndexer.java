@@ -0,0 +1,117 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.MenuChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link CatalogSearchIndex} in step with the catalog. The index is built once the application
+ * is ready; after that a committed restaurant or menu change re-reads and re-indexes only that
+ * restaurant, here and, through a {@code search} message on the invalidation bus, on every other
+ * instance. Rows are read with queries rather than by id, so copies still in the second-level cache
+ * are not indexed.
+ */
+@Component
+@Slf4j
+public class CatalogSearchIndexer {
+
+    static final String SEARCH = "search";
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final CatalogSearchIndex index;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    public CatalogSearchIndexer(CatalogSearchIndex index,
+                                RestaurantRepository restaurantRepository,
+                                MenuItemRepository menuItemRepository,
+                                CacheInvalidationBus invalidationBus) {
+        this.index = index;
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        Set<Long> indexed = new HashSet<>();
+        Page<Restaurant> page;
+        int pageNumber = 0;
+        do {
+            page = restaurantRepository.findAll(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            List<Long> ids = page.map(Restaurant::getId).getContent();
+            Map<Long, List<MenuItem>> menus = menuItemRepository.findByRestaurantIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(item -> item.getRestaurant().getId()));
+            for (Restaurant restaurant : page) {
+                index.index(restaurant, menus.getOrDefault(restaurant.getId(), List.of()));
+                indexed.add(restaurant.getId());
+            }
+        } while (page.hasNext());
+
+        for (Long id : index.restaurantIds()) {
+            if (!indexed.contains(id)) {
+                index.remove(id);
+            }
+        }
+        log.info("Search index built for {} restaurants in {} ms", indexed.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        changed(event.getRestaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        changed(event.getRestaurantId());
+    }
+
+    void reindex(Long restaurantId) {
+        List<Restaurant> found = restaurantRepository.findAllById(List.of(restaurantId));
+        if (found.isEmpty()) {
+            index.remove(restaurantId);
+        } else {
+            index.index(found.get(0), menuItemRepository.findByRestaurantIdOrderById(restaurantId));
+        }
+    }
+
+    // Re-indexed here straight away; other instances follow the bus message, which also comes back here
+    private void changed(Long restaurantId) {
+        reindex(restaurantId);
+        invalidationBus.publish(SEARCH, String.valueOf(restaurantId));
+    }
+
+    void onInvalidation(String cacheName, String key) {
+        if (!SEARCH.equals(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            rebuild();
+        } else {
+            reindex(Long.valueOf(key));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.restaurant.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits catalog text and search queries into the same terms: lower case, accents removed, and
+ * broken on anything that is not a letter or digit. Single characters are dropped.
+ */
+public final class SearchTokenizer {
+
+    static final int MIN_TOKEN_LENGTH = 2;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else {
+                add(tokens, token);
+            }
+        }
+        add(tokens, token);
+        return tokens;
+    }
+
+    private static void add(List<String> tokens, StringBuilder token) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(token.toString());
+        }
+        token.setLength(0);
+    }
+}
@@ -5,11 +5,12 @@ import com.fooddelivery.restaurant.dto.MenuItemRequest;
 import com.fooddelivery.restaurant.dto.MenuItemResponse;
 import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.MenuChangedEvent;
 import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,9 +25,9 @@ public class MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    @CacheEvict(value = "menus", key = "#restaurantId")
     public MenuItemResponse create(Long restaurantId, MenuItemRequest request, Long ownerId) {
 
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
@@ -49,10 +50,12 @@ public class MenuItemService {
                 .isSpicy(request.getIsSpicy() != null && request.getIsSpicy())
                 .build();
 
-        return mapToResponse(menuItemRepository.save(menuItem));
+        MenuItemResponse response = mapToResponse(menuItemRepository.save(menuItem));
+        menuChanged(restaurant);
+        return response;
     }
 
-    @Cacheable(value = "menus", key = "#restaurantId")
+    @Cacheable(value = "menus", key = "#restaurantId", sync = true) // one load per key at a time
     public List<MenuItemResponse> getByRestaurant(Long restaurantId) {
 
         return menuItemRepository.findByRestaurantId(restaurantId)
@@ -83,7 +86,6 @@ public class MenuItemService {
     }
 
     @Transactional
-    @CacheEvict(value = "menus", key = "#menuItem.restaurant.id")
     public MenuItemResponse update(Long id, MenuItemRequest request, Long ownerId) {
 
         MenuItem menuItem = menuItemRepository.findById(id)
@@ -105,11 +107,12 @@ public class MenuItemService {
         if (request.getIsVegetarian() != null) menuItem.setIsVegetarian(request.getIsVegetarian());
         if (request.getIsSpicy() != null) menuItem.setIsSpicy(request.getIsSpicy());
 
-        return mapToResponse(menuItemRepository.save(menuItem));
+        MenuItemResponse response = mapToResponse(menuItemRepository.save(menuItem));
+        menuChanged(restaurant);
+        return response;
     }
 
     @Transactional
-    @CacheEvict(value = "menus", key = "#menuItem.restaurant.id")
     public void delete(Long id, Long ownerId) {
 
         MenuItem menuItem = menuItemRepository.findById(id)
@@ -120,6 +123,18 @@ public class MenuItemService {
         }
 
         menuItemRepository.delete(menuItem);
+        menuChanged(menuItem.getRestaurant());
+    }
+
+    // Bumps the menu version in the same transaction as the change; once it commits, MenuCacheInvalidator
+    // evicts the cached menu and MenuSnapshotRegistry drops the pricing snapshot. The restaurant's
+    // optimistic lock makes concurrent changes to one menu take distinct versions.
+    private void menuChanged(Restaurant restaurant) {
+
+        restaurant.setMenuVersion(restaurant.getMenuVersion() + 1);
+        eventPublisher.publishEvent(MenuChangedEvent.builder()
+                .restaurantId(restaurant.getId())
+                .build());
     }
 
     private MenuItemResponse mapToResponse(MenuItem menuItem) {
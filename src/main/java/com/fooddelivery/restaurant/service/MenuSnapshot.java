@@ -0,0 +1,91 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.entity.MenuItem;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable copy of one restaurant's menu as order pricing needs it: price in cents, availability
+ * and name per menu item id. Ids are kept sorted in a primitive array and looked up by binary
+ * search, with the other fields in parallel arrays, so a lookup neither boxes nor touches an entity.
+ * <p>
+ * A snapshot is never changed; a menu write replaces it with a new one. {@link #getVersion()} is the
+ * restaurant's {@code menu_version} the snapshot was read at, and is recorded on orders priced from it.
+ */
+public final class MenuSnapshot {
+
+    private final long restaurantId;
+    private final long version;
+    private final long[] ids;
+    private final long[] priceCents;
+    private final boolean[] available;
+    private final String[] names;
+
+    private MenuSnapshot(long restaurantId, long version, long[] ids, long[] priceCents,
+                         boolean[] available, String[] names) {
+        this.restaurantId = restaurantId;
+        this.version = version;
+        this.ids = ids;
+        this.priceCents = priceCents;
+        this.available = available;
+        this.names = names;
+    }
+
+    public static MenuSnapshot of(long restaurantId, long version, List<MenuItem> menuItems) {
+        MenuItem[] sorted = menuItems.toArray(new MenuItem[0]);
+        Arrays.sort(sorted, Comparator.comparing(MenuItem::getId));
+
+        int size = sorted.length;
+        long[] ids = new long[size];
+        long[] priceCents = new long[size];
+        boolean[] available = new boolean[size];
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            MenuItem item = sorted[i];
+            ids[i] = item.getId();
+            priceCents[i] = toCents(item.getPrice());
+            available[i] = Boolean.TRUE.equals(item.getAvailable());
+            names[i] = item.getName();
+        }
+        return new MenuSnapshot(restaurantId, version, ids, priceCents, available, names);
+    }
+
+    // Prices are stored as numeric(10,2), so anything finer than a cent is a data error
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Position of a menu item in this snapshot, or a negative number if the restaurant has no such item.
+     */
+    public int indexOf(long menuItemId) {
+        return Arrays.binarySearch(ids, menuItemId);
+    }
+
+    public long priceCents(int index) {
+        return priceCents[index];
+    }
+
+    public boolean isAvailable(int index) {
+        return available[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,105 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.common.config.CacheConfig;
+import com.fooddelivery.common.exception.ResourceNotFoundException;
+import com.fooddelivery.restaurant.event.MenuChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Holds the current {@link MenuSnapshot} of each restaurant, so order pricing reads the catalog from
+ * memory. A snapshot is built on first use and replaced as a whole (copy-on-write): readers keep
+ * whichever snapshot they got, and never see a menu half way through a change.
+ * <p>
+ * Callers pass the restaurant's {@code menuVersion} as they read it, and a snapshot behind that
+ * version is rebuilt, so a missed invalidation cannot keep an old menu in use. Menu writes drop
+ * the snapshot once they commit, on this instance directly and on the others through the
+ * {@code menus} eviction on the invalidation bus. Snapshots also expire after {@code max-age}, and
+ * at most {@code max-size} are kept.
+ * <p>
+ * Loading opens its own transaction and connection, so call {@link #get} outside a transaction.
+ */
+@Service
+public class MenuSnapshotRegistry {
+
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final Cache<Long, MenuSnapshot> snapshots;
+
+    public MenuSnapshotRegistry(MenuItemRepository menuItemRepository,
+                                RestaurantRepository restaurantRepository,
+                                PlatformTransactionManager transactionManager,
+                                CacheInvalidationBus invalidationBus,
+                                @Value("${app.menu.snapshot.max-size:10000}") long maxSize,
+                                @Value("${app.menu.snapshot.max-age:5m}") Duration maxAge) {
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+
+        // The version and the items are read in one snapshot of the database, so a snapshot never
+        // pairs a version with items from a different one
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxAge)
+                .build();
+
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * The restaurant's snapshot, rebuilt first if it is missing, expired or older than {@code minVersion}.
+     */
+    public MenuSnapshot get(Long restaurantId, long minVersion) {
+        MenuSnapshot current = snapshots.getIfPresent(restaurantId);
+        if (current != null && current.getVersion() >= minVersion) {
+            return current;
+        }
+        // Loaded outside the cache's per-key lock, so a slow load never blocks other restaurants.
+        // Concurrent misses for one restaurant may each load; the newest snapshot is kept.
+        MenuSnapshot loaded = load(restaurantId);
+        return snapshots.asMap().merge(restaurantId, loaded,
+                (held, fresh) -> fresh.getVersion() >= held.getVersion() ? fresh : held);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        // Dropped rather than rebuilt here: the writing transaction still holds its connection
+        snapshots.invalidate(event.getRestaurantId());
+    }
+
+    void onInvalidation(String cacheName, String key) {
+        if (!CacheConfig.MENUS.equals(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            snapshots.invalidateAll();
+        } else {
+            snapshots.invalidate(Long.valueOf(key));
+        }
+    }
+
+    private MenuSnapshot load(Long restaurantId) {
+        return snapshotTransaction.execute(status -> {
+            long version = restaurantRepository.findMenuVersionById(restaurantId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+            return MenuSnapshot.of(restaurantId, version, menuItemRepository.findByRestaurantIdOrderById(restaurantId));
+        });
+    }
+}
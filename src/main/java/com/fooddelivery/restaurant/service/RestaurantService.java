@@ -4,29 +4,33 @@ import com.fooddelivery.common.enums.RestaurantStatus;
 import com.fooddelivery.common.exception.ResourceNotFoundException;
 import com.fooddelivery.restaurant.dto.RestaurantRequest;
 import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
 import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.RestaurantChangedEvent;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
     
     private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogSearchIndex searchIndex;
+    
+    private static final int MAX_SEARCH_RESULTS = 50;
     
     @Transactional
-    @CacheEvict(value = "restaurants", allEntries = true)
     public RestaurantResponse create(RestaurantRequest request, Long ownerId) {
         Restaurant restaurant = Restaurant.builder()
                 .name(request.getName())
@@ -46,10 +50,11 @@ public class RestaurantService {
                 .build();
         
         restaurant = restaurantRepository.save(restaurant);
+        restaurantChanged(restaurant.getId());
         return mapToResponse(restaurant);
     }
     
-    @Cacheable(value = "restaurants", key = "#id")
+    @Cacheable(value = "restaurants", key = "#id", sync = true) // one load per key at a time
     public RestaurantResponse getById(Long id) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
@@ -75,20 +80,11 @@ public class RestaurantService {
     }
     
     public Page<RestaurantResponse> getByOwner(Long ownerId, Pageable pageable) {
-        List<Restaurant> restaurants = restaurantRepository.findByOwnerId(ownerId);
-        // Convert to page - in production, you'd add a repository method with Pageable
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), restaurants.size());
-        List<Restaurant> pagedRestaurants = start < restaurants.size() ? 
-                restaurants.subList(start, end) : java.util.Collections.emptyList();
-        return new PageImpl<>(
-                pagedRestaurants.stream().map(this::mapToResponse).collect(Collectors.toList()),
-                pageable,
-                restaurants.size());
+        return restaurantRepository.findByOwnerId(ownerId, pageable)
+                .map(this::mapToResponse);
     }
     
     @Transactional
-    @CacheEvict(value = "restaurants", key = "#id")
     public RestaurantResponse update(Long id, RestaurantRequest request, Long ownerId) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
@@ -114,11 +110,11 @@ public class RestaurantService {
         if (request.getImageUrl() != null) restaurant.setImageUrl(request.getImageUrl());
         
         restaurant = restaurantRepository.save(restaurant);
+        restaurantChanged(restaurant.getId());
         return mapToResponse(restaurant);
     }
     
     @Transactional
-    @CacheEvict(value = "restaurants", key = "#id")
     public void delete(Long id, Long ownerId) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
@@ -128,9 +124,32 @@ public class RestaurantService {
         }
         
         restaurantRepository.delete(restaurant);
+        restaurantChanged(id);
+    }
+    
+    /**
+     * Free-text search over restaurant names, cuisines and descriptions and their dishes, answered
+     * from the in-memory index without querying the database.
+     */
+    public List<RestaurantSearchResult> search(String query, String city, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return searchIndex.search(query, city, limit);
+    }
+    
+    // The cached restaurant and the search index pick the change up once the transaction commits;
+    // see RestaurantCacheInvalidator and CatalogSearchIndexer
+    private void restaurantChanged(Long id) {
+        eventPublisher.publishEvent(RestaurantChangedEvent.builder()
+                .restaurantId(id)
+                .build());
     }
     
-    private RestaurantResponse mapToResponse(Restaurant restaurant) {
+    RestaurantResponse mapToResponse(Restaurant restaurant) {
         return RestaurantResponse.builder()
                 .id(restaurant.getId())
                 .name(restaurant.getName())
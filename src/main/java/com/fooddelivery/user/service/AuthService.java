@@ -32,12 +32,12 @@ public class AuthService {
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
-        String token = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(request.getEmail());
-        
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        String token = tokenProvider.generateToken(authentication, user.getId());
+        String refreshToken = tokenProvider.generateRefreshToken(request.getEmail());
+        
         return AuthResponse.builder()
                 .token(token)
                 .refreshToken(refreshToken)
@@ -65,7 +65,7 @@ public class AuthService {
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 email, null, authorities);
         
-        String newToken = tokenProvider.generateToken(authentication);
+        String newToken = tokenProvider.generateToken(authentication, user.getId());
         String newRefreshToken = tokenProvider.generateRefreshToken(email);
         
         return AuthResponse.builder()
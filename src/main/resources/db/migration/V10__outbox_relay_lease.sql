@@ -0,0 +1,9 @@
+-- Keeps a single OutboxRelay active across instances without holding a connection while it waits
+-- for Kafka; the holder renews it with every batch
+CREATE TABLE order_outbox_lease (
+    name VARCHAR(50) PRIMARY KEY,
+    holder VARCHAR(100),
+    expires_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO order_outbox_lease (name, expires_at) VALUES ('relay', TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_payments_order_id ON payments(order_id);
@@ -0,0 +1,7 @@
+-- Hibernate reserves 50 ids per nextval (pooled optimizer) for these high-volume tables,
+-- which lets inserts be batched. Existing rows are unaffected; the next value simply
+-- jumps ahead by one block.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE deliveries_id_seq INCREMENT BY 50;
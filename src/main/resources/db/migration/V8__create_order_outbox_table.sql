@@ -0,0 +1,11 @@
+-- Ids are taken from the sequence one at a time as rows are inserted, so the relay can read events
+-- in id order
+CREATE TABLE order_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_key VARCHAR(50) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0
+);
@@ -0,0 +1,4 @@
+ALTER TABLE restaurants ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+
+-- Menu version each order was priced from; NULL for orders placed before it was recorded
+ALTER TABLE orders ADD COLUMN menu_version BIGINT;
@@ -0,0 +1,235 @@
+package com.fooddelivery.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheTest {
+
+    // Stands in for Redis: one shared L2 seen by both nodes
+    private final ConcurrentMapCacheManager shared = new ConcurrentMapCacheManager("menus", "users");
+    private final LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+
+    private SimpleMeterRegistry meterRegistry;
+    private Cache nodeA;
+    private Cache nodeB;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        nodeA = new TwoLevelCacheManager(shared, bus, meterRegistry, Set.of("menus"), 100,
+                Duration.ofMinutes(1), Duration.ZERO, Runnable::run).getCache("menus");
+        nodeB = new TwoLevelCacheManager(shared, bus, new SimpleMeterRegistry(), Set.of("menus"), 100,
+                Duration.ofMinutes(1), Duration.ZERO, Runnable::run).getCache("menus");
+    }
+
+    @Test
+    void testSharedHitIsCopiedToLocalTier() {
+
+        nodeB.put(1L, "menu v1");
+
+        assertEquals("menu v1", nodeA.get(1L).get()); // L1 miss, L2 hit
+        assertEquals("menu v1", nodeA.get(1L).get()); // L1 hit
+        assertNull(nodeA.get(2L)); // miss on both tiers
+
+        assertEquals(1.0 / 3, ratio("l1"), 1e-9);
+        assertEquals(0.5, ratio("l2"), 1e-9);
+    }
+
+    @Test
+    void testEvictOnOneNodeDropsLocalCopiesEverywhere() {
+
+        nodeA.put(1L, "menu v1");
+        assertEquals("menu v1", nodeB.get(1L).get());
+
+        // Bypass the L2 path on node B: only the broadcast can remove its local copy
+        shared.getCache("menus").put(1L, "menu v2");
+        assertEquals("menu v1", nodeB.get(1L).get());
+
+        nodeA.evict(1L);
+
+        assertNull(nodeB.get(1L));
+        assertNull(shared.getCache("menus").get(1L));
+    }
+
+    @Test
+    void testClearIsBroadcast() {
+
+        nodeA.put(1L, "menu v1");
+        nodeB.get(1L);
+
+        nodeA.clear();
+
+        assertNull(nodeB.get(1L));
+    }
+
+    @Test
+    void testLoaderFillsBothTiers() {
+
+        assertEquals("loaded", nodeA.get(1L, () -> "loaded"));
+        assertEquals("loaded", shared.getCache("menus").get(1L).get());
+        assertEquals("loaded", nodeA.get(1L, () -> "not called"));
+    }
+
+    @Test
+    void testOtherCachesArePassedThrough() {
+
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(shared, bus, new SimpleMeterRegistry(),
+                Set.of("menus"), 100, Duration.ofMinutes(1), Duration.ZERO, Runnable::run);
+
+        assertSame(shared.getCache("users"), manager.getCache("users"));
+    }
+
+    @Test
+    void testConcurrentMissesLoadOncePerKeyPerExpiry() throws Exception {
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> slowQuery = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(100);
+            return "menu";
+        };
+
+        assertEquals(200, concurrently(200, () -> nodeA.get(1L, slowQuery)).stream().filter("menu"::equals).count());
+        assertEquals(1, loads.get());
+
+        // Expiry of the entry everywhere: the next wave of misses loads once more
+        nodeA.evict(1L);
+        concurrently(200, () -> nodeA.get(1L, slowQuery));
+        assertEquals(2, loads.get());
+
+        concurrently(200, () -> nodeA.get(2L, slowQuery));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testFailedLoadReachesAllWaitersAndIsRetried() throws Exception {
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> failingQuery = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(50);
+            throw new IllegalStateException("database down");
+        };
+
+        List<Object> results = concurrently(50, () -> {
+            try {
+                return nodeA.get(1L, failingQuery);
+            } catch (Cache.ValueRetrievalException e) {
+                return e.getCause();
+            }
+        });
+
+        assertTrue(results.stream().allMatch(IllegalStateException.class::isInstance));
+        assertEquals(1, loads.get());
+        assertEquals("menu", nodeA.get(1L, () -> "menu"));
+    }
+
+    @Test
+    void testStaleCopyIsServedWhileOneRefreshRuns() throws Exception {
+
+        ExecutorService refresher = Executors.newFixedThreadPool(2);
+        try {
+            Cache cache = new TwoLevelCacheManager(shared, bus, new SimpleMeterRegistry(), Set.of("menus"), 100,
+                    Duration.ofMinutes(1), Duration.ofMillis(10), refresher).getCache("menus");
+            cache.put(1L, "menu v1");
+            shared.getCache("menus").evict(1L); // the shared entry expired, the near copy is still there
+            Thread.sleep(20);
+
+            AtomicInteger loads = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            Callable<String> blockedQuery = () -> {
+                loads.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "menu v2";
+            };
+
+            // The refresh is blocked, yet every reader gets the stale copy straight away
+            List<Object> results = concurrently(50, () -> cache.get(1L, blockedQuery));
+            assertTrue(results.stream().allMatch("menu v1"::equals));
+            // The refresh runs on the executor and may not have started yet when the readers return
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (loads.get() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, loads.get());
+
+            release.countDown();
+            while (!"menu v2".equals(cache.get(1L, blockedQuery)) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals("menu v2", cache.get(1L, blockedQuery));
+            assertEquals("menu v2", shared.getCache("menus").get(1L).get());
+        } finally {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEvictDuringLoadKeepsOldResultOutOfTheCache() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> staleRead = reader.submit(() -> nodeA.get(1L, () -> {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "menu v1";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            nodeB.evict(1L); // the menu changed while v1 was being read
+            release.countDown();
+
+            assertEquals("menu v1", staleRead.get(5, TimeUnit.SECONDS));
+            assertNull(shared.getCache("menus").get(1L));
+            assertEquals("menu v2", nodeA.get(1L, () -> "menu v2"));
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    private List<Object> concurrently(int callers, Callable<Object> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double ratio(String tier) {
+        return meterRegistry.get("cache.tier.hit.ratio").tag("cache", "menus").tag("tier", tier).gauge().value();
+    }
+}
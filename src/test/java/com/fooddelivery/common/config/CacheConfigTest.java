@@ -0,0 +1,67 @@
+package com.fooddelivery.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.dto.MenuItemResponse;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final Map<String, RedisCacheConfiguration> configurations = CacheConfig.cacheConfigurations(
+            new ObjectMapper(), Duration.ofHours(1), Duration.ofMinutes(30), Duration.ofHours(2));
+
+    @Test
+    void testEachCacheGetsItsOwnTtl() {
+
+        assertEquals(Duration.ofHours(1), ttl(CacheConfig.RESTAURANTS));
+        assertEquals(Duration.ofMinutes(30), ttl(CacheConfig.MENUS));
+        assertEquals(Duration.ofHours(2), ttl(CacheConfig.USERS));
+        assertEquals("cache:menus::", configurations.get(CacheConfig.MENUS).getKeyPrefixFor(CacheConfig.MENUS));
+    }
+
+    @Test
+    void testValuesAreStoredWithoutTypeInformation() {
+
+        RedisCacheConfiguration menus = configurations.get(CacheConfig.MENUS);
+        List<MenuItemResponse> menu = List.of(MenuItemResponse.builder()
+                .id(1L)
+                .restaurantId(10L)
+                .name("Margherita Pizza")
+                .price(new BigDecimal("299.00"))
+                .build());
+
+        ByteBuffer stored = menus.getValueSerializationPair().write(menu);
+        String json = StandardCharsets.UTF_8.decode(stored.duplicate()).toString();
+
+        assertFalse(json.contains("@class"), json);
+        assertEquals(menu, menus.getValueSerializationPair().read(stored));
+    }
+
+    @Test
+    void testRestaurantRoundTrip() {
+
+        RedisCacheConfiguration restaurants = configurations.get(CacheConfig.RESTAURANTS);
+        RestaurantResponse restaurant = RestaurantResponse.builder()
+                .id(1L)
+                .name("Pizza Palace")
+                .deliveryFee(new BigDecimal("30.00"))
+                .build();
+
+        assertEquals(restaurant, restaurants.getValueSerializationPair()
+                .read(restaurants.getValueSerializationPair().write(restaurant)));
+    }
+
+    private Duration ttl(String cacheName) {
+        return configurations.get(cacheName).getTtlFunction().getTimeToLive(null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.common.config;
+
+import com.fooddelivery.common.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig config = new IdGeneratorConfig();
+
+    @Test
+    void testMissingNodeIdFailsStartup() {
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> config.snowflakeIdGenerator(-1, new MockEnvironment()));
+
+        assertTrue(e.getMessage().contains("NODE_ID"));
+    }
+
+    @Test
+    void testDevProfileDerivesNodeId() {
+
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles(IdGeneratorConfig.DEV_PROFILE);
+
+        SnowflakeIdGenerator generator = config.snowflakeIdGenerator(-1, dev);
+
+        assertTrue(generator.getNodeId() >= 0 && generator.getNodeId() <= SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void testConfiguredNodeIdIsUsed() {
+
+        assertEquals(12, config.snowflakeIdGenerator(12, new MockEnvironment()).getNodeId());
+    }
+}
@@ -0,0 +1,47 @@
+package com.fooddelivery.common.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaConfigTest {
+
+    @Test
+    void testThroughputProfileBatchesAndCompresses() {
+
+        Map<String, Object> settings = KafkaConfig.producerSettings(ProducerProfile.THROUGHPUT,
+                null, null, null, null, null);
+
+        assertEquals(20, settings.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(128 * 1024, settings.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("lz4", settings.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(true, settings.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", settings.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void testOverridesReplaceProfileValues() {
+
+        Map<String, Object> settings = KafkaConfig.producerSettings(ProducerProfile.LATENCY,
+                5, 65536, "zstd", 3, null);
+
+        assertEquals(5, settings.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, settings.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("zstd", settings.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(3, settings.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+    }
+
+    @Test
+    void testRejectsMoreThanFiveInFlightWithIdempotence() {
+
+        assertThrows(IllegalArgumentException.class, () -> KafkaConfig.producerSettings(ProducerProfile.THROUGHPUT,
+                null, null, null, 10, null));
+
+        Map<String, Object> settings = KafkaConfig.producerSettings(ProducerProfile.THROUGHPUT,
+                null, null, null, 10, false);
+        assertEquals(10, settings.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+    }
+}
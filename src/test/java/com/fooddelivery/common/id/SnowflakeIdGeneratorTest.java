@@ -0,0 +1,143 @@
+package com.fooddelivery.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testConcurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 16;
+        int idsPerThread = 50_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long previous = -1;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        long id = generator.nextId();
+                        if (id <= previous || !seen.add(id)) {
+                            return false;
+                        }
+                        previous = id;
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * idsPerThread, seen.size());
+    }
+
+    @Test
+    void testIdsFromDifferentNodesNeverCollide() {
+
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2);
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(seen.add(first.nextId()));
+            assertTrue(seen.add(second.nextId()));
+        }
+    }
+
+    @Test
+    void testIdCarriesTimestampAndNode() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42);
+
+        long id = generator.nextId();
+
+        assertEquals(42, SnowflakeIdGenerator.nodeIdOf(id));
+        Duration age = Duration.between(SnowflakeIdGenerator.timestampOf(id), Instant.now());
+        assertTrue(age.abs().compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @Test
+    void testNeverRunsMoreThanMaxLeadAheadOfClock() {
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 5);
+
+        // 40 ms worth of sequence; without the bound the timestamps would run far ahead
+        for (int i = 0; i < 40 * 4096; i++) {
+            long id = generator.nextId();
+            long lead = SnowflakeIdGenerator.timestampOf(id).toEpochMilli() - System.currentTimeMillis();
+            assertTrue(lead <= 5, "ran " + lead + "ms ahead");
+        }
+    }
+
+    @Test
+    void testRestartWaitsPastPreviousRun() {
+
+        SnowflakeIdGenerator previous = new SnowflakeIdGenerator(1, 50);
+        long lastOfPrevious = 0;
+        for (int i = 0; i < 100 * 4096; i++) {
+            lastOfPrevious = previous.nextId();
+        }
+
+        SnowflakeIdGenerator restarted = new SnowflakeIdGenerator(1, 50);
+        restarted.awaitPastPreviousRun();
+
+        assertTrue(restarted.nextId() > lastOfPrevious);
+    }
+
+    @Test
+    void testRejectsOutOfRangeNodeId() {
+
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void testBusinessIdsSortInCreationOrder() {
+
+        String previous = BusinessIds.orderNumber();
+        for (int i = 0; i < 10_000; i++) {
+            String next = BusinessIds.orderNumber();
+            assertTrue(next.compareTo(previous) > 0, next + " should sort after " + previous);
+            previous = next;
+        }
+
+        assertTrue(previous.startsWith(BusinessIds.ORDER_PREFIX));
+        assertEquals(BusinessIds.ORDER_PREFIX.length() + BusinessIds.ENCODED_LENGTH, previous.length());
+        assertTrue(BusinessIds.transactionId().startsWith(BusinessIds.TRANSACTION_PREFIX));
+    }
+
+    @Test
+    void testEncodingRoundTrips() {
+
+        long id = new SnowflakeIdGenerator(3).nextId();
+
+        assertEquals(id, BusinessIds.decode(BusinessIds.encode(id)));
+        assertEquals(Long.MAX_VALUE, BusinessIds.decode(BusinessIds.encode(Long.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.fooddelivery.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.enums.PaymentMethod;
+import com.fooddelivery.payment.dto.PaymentRequest;
+import com.fooddelivery.payment.dto.PaymentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private PaymentRequest request;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(), new ObjectMapper().findAndRegisterModules(),
+                Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofSeconds(5));
+
+        request = new PaymentRequest();
+        request.setOrderId(1L);
+        request.setPaymentMethod(PaymentMethod.UPI);
+
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void testReplayReturnsStoredResponseWithoutRunningAgain() {
+
+        ResponseEntity<PaymentResponse> first = execute("key-1", request);
+        ResponseEntity<PaymentResponse> replay = execute("key-1", request);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.ACCEPTED, replay.getStatusCode());
+        assertEquals(first.getBody().getId(), replay.getBody().getId());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testConcurrentDuplicatesExecuteOnce() throws Exception {
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<PaymentResponse>>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute("payment", 10L, "key-2", request, PaymentResponse.class, () -> {
+                        executions.incrementAndGet();
+                        sleep(200);
+                        return accepted(7L);
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<ResponseEntity<PaymentResponse>> future : futures) {
+                assertEquals(7L, future.get().getBody().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testSameKeyWithDifferentRequestIsRejected() {
+
+        execute("key-3", request);
+
+        PaymentRequest other = new PaymentRequest();
+        other.setOrderId(2L);
+        other.setPaymentMethod(PaymentMethod.UPI);
+
+        assertThrows(IllegalArgumentException.class, () -> execute("key-3", other));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testFailedExecutionCanBeRetriedWithSameKey() {
+
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyService.execute("payment", 10L, "key-4", request, PaymentResponse.class, () -> {
+                    throw new IllegalStateException("gateway down");
+                }));
+
+        execute("key-4", request);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeysAreScopedPerUser() {
+
+        execute("key-5", request);
+        idempotencyService.execute("payment", 11L, "key-5", request, PaymentResponse.class, () -> {
+            executions.incrementAndGet();
+            return accepted(8L);
+        });
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testWithoutKeyAlwaysExecutes() {
+
+        execute(null, request);
+        execute(null, request);
+
+        assertEquals(2, executions.get());
+    }
+
+    private ResponseEntity<PaymentResponse> execute(String key, PaymentRequest paymentRequest) {
+        return idempotencyService.execute("payment", 10L, key, paymentRequest, PaymentResponse.class, () -> {
+            executions.incrementAndGet();
+            return accepted((long) executions.get());
+        });
+    }
+
+    private static ResponseEntity<PaymentResponse> accepted(Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(PaymentResponse.builder().id(id).orderId(1L).build());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.fooddelivery.common.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps the DataSource in JDK proxies and counts executeBatch, executeUpdate and
+ * executeQuery calls per SQL string. Tests pick it up with {@code @Import(JdbcCallCounter.Config.class)}.
+ */
+public class JdbcCallCounter {
+
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public void reset() {
+        counts.clear();
+    }
+
+    public int batches(String sqlFragment) {
+        return count("batch", sqlFragment);
+    }
+
+    public int singleUpdates(String sqlFragment) {
+        return count("update", sqlFragment);
+    }
+
+    public int queries(String sqlFragment) {
+        return count("query", sqlFragment);
+    }
+
+    // SQL may carry a leading /* comment */ when use_sql_comments is on, so match on contains
+    private int count(String kind, String sqlFragment) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(kind + "|") && e.getKey().contains(sqlFragment))
+                .mapToInt(e -> e.getValue().get())
+                .sum();
+    }
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                result instanceof Connection connection ? wrap(connection) : result);
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) ->
+                method.equals("prepareStatement") && result instanceof PreparedStatement statement
+                        ? wrap(statement, ((String) args[0]).toLowerCase(Locale.ROOT))
+                        : result);
+    }
+
+    private PreparedStatement wrap(PreparedStatement target, String sql) {
+        return proxy(PreparedStatement.class, target, (method, args, result) -> {
+            switch (method) {
+                case "executeBatch" -> increment("batch", sql);
+                case "executeUpdate" -> increment("update", sql);
+                case "executeQuery" -> increment("query", sql);
+                default -> { }
+            }
+            return result;
+        });
+    }
+
+    private void increment(String kind, String sql) {
+        counts.computeIfAbsent(kind + "|" + sql, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+            try {
+                return handler.handle(method.getName(), args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(String method, Object[] args, Object result);
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        JdbcCallCounter jdbcCallCounter() {
+            return new JdbcCallCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSource(ObjectProvider<JdbcCallCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
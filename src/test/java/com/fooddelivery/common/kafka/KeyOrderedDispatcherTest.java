@@ -0,0 +1,127 @@
+package com.fooddelivery.common.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedDispatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testKeysRunConcurrentlyAndStayInOrder() {
+
+        // "a" and "b" hash to different shards with parallelism 2
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(executor, 2);
+        List<ConsumerRecord<String, Integer>> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            records.add(record(i % 2 == 0 ? "a" : "b", i));
+        }
+
+        CyclicBarrier bothShards = new CyclicBarrier(2);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        dispatcher.dispatch(records, shard -> {
+            awaitQuietly(bothShards); // only passes if the shards overlap in time
+            threads.add(Thread.currentThread().getName());
+            shard.forEach(r -> seen.computeIfAbsent(r.key(), k -> new CopyOnWriteArrayList<>()).add(r.value()));
+        });
+
+        assertEquals(2, threads.size());
+        assertEquals(List.of(0, 2, 4, 6, 8, 10, 12, 14, 16, 18), seen.get("a"));
+        assertEquals(List.of(1, 3, 5, 7, 9, 11, 13, 15, 17, 19), seen.get("b"));
+    }
+
+    @Test
+    void testEarliestFailureAcrossShardsIsReported() {
+
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(executor, 2);
+        List<ConsumerRecord<String, Integer>> records = List.of(
+                record("a", 0), record("b", 1), record("a", 2), record("b", 3));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> dispatcher.dispatch(records, shard -> {
+                    // each shard fails at its second record: "a" at batch index 2, "b" at 3
+                    throw new BatchListenerFailedException("failed", 1);
+                }));
+
+        assertEquals(2, failure.getIndex());
+    }
+
+    @Test
+    void testFailureByRecordIsRethrownAsIs() {
+
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(executor, 2);
+        List<ConsumerRecord<String, Integer>> records = List.of(record("a", 0), record("b", 1));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> dispatcher.dispatch(records, shard -> {
+                    if ("b".equals(shard.get(0).key())) {
+                        throw new BatchListenerFailedException("failed", shard.get(0));
+                    }
+                }));
+
+        assertSame(records.get(1), failure.getRecord());
+    }
+
+    @Test
+    void testOtherFailuresFailTheWholeBatch() {
+
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(executor, 2);
+        List<ConsumerRecord<String, Integer>> records = List.of(record("a", 0), record("b", 1));
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(records, shard -> {
+            if ("b".equals(shard.get(0).key())) {
+                throw new IllegalStateException("database down");
+            }
+            throw new BatchListenerFailedException("failed", 0);
+        }));
+    }
+
+    @Test
+    void testParallelismOneRunsOnCallerThread() {
+
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(executor, 1);
+        List<ConsumerRecord<String, Integer>> records = List.of(record("a", 0), record("b", 1));
+        List<Thread> threads = new ArrayList<>();
+
+        dispatcher.dispatch(records, shard -> {
+            assertEquals(2, shard.size());
+            threads.add(Thread.currentThread());
+        });
+
+        assertEquals(List.of(Thread.currentThread()), threads);
+    }
+
+    private ConsumerRecord<String, Integer> record(String key, int value) {
+        return new ConsumerRecord<>("order-events", 0, value, key, value);
+    }
+
+    private void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.fooddelivery.common.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testArithmeticIsExact() {
+
+        Money price = Money.of(new BigDecimal("149.99"));
+
+        assertEquals(14999L, price.getMinorUnits());
+        assertEquals(new BigDecimal("449.97"), price.times(3).toBigDecimal());
+        assertEquals(new BigDecimal("179.99"), price.plus(Money.ofMinorUnits(3000)).toBigDecimal());
+        assertEquals("-0.05", Money.ofMinorUnits(-5).toString());
+    }
+
+    @Test
+    void testMultiplyRoundsLikeBigDecimal() {
+
+        long[] amounts = {14999, 2, 25, 35, -25, -35, -14999, 0, 1234567};
+        for (RoundingMode rounding : RoundingMode.values()) {
+            if (rounding == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long amount : amounts) {
+                BigDecimal expected = BigDecimal.valueOf(amount, 2)
+                        .multiply(new BigDecimal("0.18"))
+                        .setScale(2, rounding);
+
+                assertEquals(expected, Money.ofMinorUnits(amount).multiply(18, 100, rounding).toBigDecimal(),
+                        amount + " " + rounding);
+            }
+        }
+    }
+
+    @Test
+    void testInexactValuesAreRejected() {
+
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.005")));
+        assertThrows(ArithmeticException.class,
+                () -> Money.ofMinorUnits(5).multiply(1, 2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MAX_VALUE).times(2));
+        assertEquals(Money.ofMinorUnits(1), Money.of(new BigDecimal("0.005"), RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void testConverterRoundTrip() {
+
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("735.64"), converter.convertToDatabaseColumn(Money.ofMinorUnits(73564)));
+        assertEquals(Money.ofMinorUnits(73564), converter.convertToEntityAttribute(new BigDecimal("735.640")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,68 @@
+package com.fooddelivery.common.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters-long";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000, 120_000);
+    }
+
+    @Test
+    void testGenerateToken_EmbedsUserIdAndRoles() {
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "test@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+        String token = tokenProvider.generateToken(authentication, 42L);
+
+        assertTrue(tokenProvider.validateToken(token));
+        Claims claims = tokenProvider.getClaims(token);
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(42L, claims.get(JwtTokenProvider.USER_ID_CLAIM, Long.class));
+        assertEquals("ROLE_CUSTOMER", claims.get(JwtTokenProvider.ROLES_CLAIM, String.class));
+    }
+
+    @Test
+    void testValidateToken_RejectsTamperedToken() {
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "test@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+        String token = tokenProvider.generateToken(authentication, 42L);
+
+        assertFalse(tokenProvider.validateToken(token.substring(0, token.length() - 2) + "xx"));
+    }
+
+    @Test
+    void testResolveClaims_CachedTokenSkipsReparse() {
+
+        JwtTokenProvider cachingProvider = new JwtTokenProvider(
+                SECRET, 60_000, 120_000, true, 100, Duration.ofMinutes(5));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "test@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+        String token = cachingProvider.generateToken(authentication, 42L);
+
+        Claims first = cachingProvider.resolveClaims(token).orElseThrow();
+        Claims second = cachingProvider.resolveClaims(token).orElseThrow();
+
+        assertSame(first, second);
+        assertTrue(cachingProvider.resolveClaims(token.substring(0, token.length() - 2) + "xx").isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.fooddelivery.common.util;
+
+import com.fooddelivery.common.security.AuthenticatedUser;
+import com.fooddelivery.user.entity.User;
+import com.fooddelivery.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityUtilTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SecurityUtil securityUtil;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetCurrentUserId_FromTokenPrincipal() {
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(42L, "test@example.com"), null, List.of()));
+
+        assertEquals(42L, securityUtil.getCurrentUserId());
+        assertEquals("test@example.com", securityUtil.getCurrentUserEmail());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testGetCurrentUserId_LegacyTokenFallsBackToLookup() {
+
+        User user = User.builder().email("test@example.com").build();
+        user.setId(7L);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(null, "test@example.com"), null, List.of()));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        assertEquals(7L, securityUtil.getCurrentUserId());
+    }
+}
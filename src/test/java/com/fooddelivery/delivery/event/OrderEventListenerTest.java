@@ -0,0 +1,116 @@
+package com.fooddelivery.delivery.event;
+
+import com.fooddelivery.common.kafka.KeyOrderedDispatcher;
+import com.fooddelivery.delivery.dto.DeliveryBatchResult;
+import com.fooddelivery.delivery.service.DeliveryService;
+import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventListenerTest {
+
+    @Mock
+    private DeliveryService deliveryService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new OrderEventListener(deliveryService, new KeyOrderedDispatcher(Runnable::run, 1), meterRegistry);
+    }
+
+    @Test
+    void testOnlyAcceptedOrdersAreHandedOverInOneCall() {
+
+        when(deliveryService.createDeliveries(any())).thenReturn(result(2, 1, Set.of()));
+
+        listener.onOrderEvents(List.of(
+                record(event(1L, "ORDER_PLACED")),
+                record(event(1L, "ORDER_ACCEPTED")),
+                record(event(2L, "ORDER_ACCEPTED")),
+                record(event(3L, "ORDER_ACCEPTED")),
+                record(event(2L, "ORDER_ACCEPTED"))));
+
+        verify(deliveryService).createDeliveries(Set.of(1L, 2L, 3L));
+        assertEquals(5, meterRegistry.get("delivery.consumer.batch.size").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("delivery.consumer.deliveries").tag("outcome", "created").counter().count());
+        assertEquals(1, meterRegistry.get("delivery.consumer.deliveries").tag("outcome", "skipped").counter().count());
+    }
+
+    @Test
+    void testBatchWithoutAcceptedEventsSkipsService() {
+
+        listener.onOrderEvents(List.of(record(event(1L, "ORDER_PLACED"))));
+
+        verifyNoInteractions(deliveryService);
+    }
+
+    @Test
+    void testMissingOrderFailsAtItsRecord() {
+
+        when(deliveryService.createDeliveries(any())).thenReturn(result(1, 0, Set.of(7L)));
+
+        List<ConsumerRecord<String, OrderEvent>> records = List.of(
+                record(event(1L, "ORDER_ACCEPTED")),
+                record(event(7L, "ORDER_ACCEPTED")));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onOrderEvents(records));
+
+        assertSame(records.get(1), failure.getRecord());
+    }
+
+    @Test
+    void testUnreadableRecordFailsAfterEarlierOrdersAreHandled() {
+
+        when(deliveryService.createDeliveries(any())).thenReturn(result(1, 0, Set.of()));
+        List<ConsumerRecord<String, OrderEvent>> records = new ArrayList<>();
+        records.add(record(event(1L, "ORDER_ACCEPTED")));
+        records.add(record(null));
+        records.add(record(event(2L, "ORDER_ACCEPTED")));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onOrderEvents(records));
+
+        assertSame(records.get(1), failure.getRecord());
+        verify(deliveryService).createDeliveries(Set.of(1L));
+    }
+
+    private ConsumerRecord<String, OrderEvent> record(OrderEvent event) {
+        return new ConsumerRecord<>(OutboxRelay.ORDER_TOPIC, 0, 0, event == null ? null : "ORD" + event.getOrderId(), event);
+    }
+
+    private OrderEvent event(Long orderId, String eventType) {
+        return OrderEvent.builder()
+                .orderId(orderId)
+                .eventType(eventType)
+                .build();
+    }
+
+    private DeliveryBatchResult result(int created, int skipped, Set<Long> missing) {
+        return DeliveryBatchResult.builder()
+                .created(created)
+                .skipped(skipped)
+                .missingOrderIds(missing)
+                .build();
+    }
+}
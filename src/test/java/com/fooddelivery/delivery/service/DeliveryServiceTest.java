@@ -0,0 +1,96 @@
+package com.fooddelivery.delivery.service;
+
+import com.fooddelivery.common.enums.DeliveryStatus;
+import com.fooddelivery.delivery.dto.DeliveryBatchResult;
+import com.fooddelivery.delivery.entity.Delivery;
+import com.fooddelivery.delivery.repository.DeliveryRepository;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryServiceTest {
+
+    @Mock
+    private DeliveryRepository deliveryRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @InjectMocks
+    private DeliveryService deliveryService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateDeliveries_BulkLoadsAndInsertsOnce() {
+
+        Restaurant restaurant = restaurant(10L);
+        when(orderRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(order(1L, 10L), order(2L, 10L), order(3L, 10L)));
+        when(deliveryRepository.findByOrderIdIn(anyCollection()))
+                .thenReturn(List.of(Delivery.builder().orderId(2L).build()));
+        when(restaurantRepository.findAllById(anyCollection())).thenReturn(List.of(restaurant));
+
+        DeliveryBatchResult result = deliveryService.createDeliveries(List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getSkipped());
+        assertEquals(Set.of(4L), result.getMissingOrderIds());
+
+        ArgumentCaptor<List<Delivery>> saved = ArgumentCaptor.forClass(List.class);
+        verify(deliveryRepository).saveAll(saved.capture());
+        assertEquals(List.of(1L, 3L), saved.getValue().stream().map(Delivery::getOrderId).toList());
+        assertTrue(saved.getValue().stream().allMatch(d -> d.getStatus() == DeliveryStatus.PENDING));
+        verify(restaurantRepository).findAllById(Set.of(10L));
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCreateDeliveries_EmptyBatchSkipsLookups() {
+
+        DeliveryBatchResult result = deliveryService.createDeliveries(List.of());
+
+        assertEquals(0, result.getCreated());
+        assertTrue(result.getMissingOrderIds().isEmpty());
+        verifyNoInteractions(orderRepository, deliveryRepository, restaurantRepository);
+    }
+
+    private Order order(Long id, Long restaurantId) {
+        Order order = Order.builder()
+                .orderNumber("ORD" + id)
+                .restaurantId(restaurantId)
+                .deliveryAddress("123 Main St")
+                .build();
+        order.setId(id);
+        return order;
+    }
+
+    private Restaurant restaurant(Long id) {
+        Restaurant restaurant = Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .estimatedDeliveryTimeMinutes(30)
+                .build();
+        restaurant.setId(id);
+        return restaurant;
+    }
+}
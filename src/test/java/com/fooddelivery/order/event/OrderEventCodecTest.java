@@ -0,0 +1,92 @@
+package com.fooddelivery.order.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.enums.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventCodecTest {
+
+    private static final String TOPIC = "order-events";
+
+    private final OrderEventSerializer serializer = new OrderEventSerializer();
+    private final OrderEventDeserializer deserializer = new OrderEventDeserializer();
+
+    @Test
+    void testRoundTripKeepsEveryField() {
+
+        OrderEvent event = event("ORDER_ACCEPTED");
+
+        OrderEvent decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void testRoundTripWithMissingFieldsAndCustomEventType() {
+
+        OrderEvent event = OrderEvent.builder()
+                .orderId(-5L)
+                .orderNumber("ORD-ü")
+                .eventType("ORDER_REFUND_REQUESTED")
+                .totalAmount(new BigDecimal("-0.5"))
+                .build();
+
+        OrderEvent decoded = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        assertEquals(event, decoded);
+        assertNull(decoded.getEventId());
+        assertNull(decoded.getTimestamp());
+    }
+
+    @Test
+    void testBinaryIsMuchSmallerThanJson() throws Exception {
+
+        OrderEvent event = event("ORDER_PLACED");
+        byte[] json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(event);
+        byte[] binary = serializer.serialize(TOPIC, event);
+
+        assertTrue(binary.length * 4 < json.length, binary.length + " bytes vs " + json.length + " as JSON");
+    }
+
+    @Test
+    void testReadsLegacyJsonPayloads() throws Exception {
+
+        OrderEvent event = event("ORDER_PLACED");
+        byte[] json = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(event);
+
+        assertEquals(event, deserializer.deserialize(TOPIC, json));
+    }
+
+    @Test
+    void testRejectsUnknownVersionAndTruncatedPayloads() {
+
+        byte[] payload = serializer.serialize(TOPIC, event("ORDER_PLACED"));
+        byte[] unknownVersion = payload.clone();
+        unknownVersion[0] = 9;
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 3);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, unknownVersion));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, truncated));
+    }
+
+    private static OrderEvent event(String eventType) {
+        return OrderEvent.builder()
+                .eventId(88213L)
+                .orderId(1042L)
+                .orderNumber("ORD00BTK3W9R40G")
+                .customerId(17L)
+                .restaurantId(3L)
+                .status(OrderStatus.ACCEPTED)
+                .totalAmount(new BigDecimal("735.64"))
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_789))
+                .eventType(eventType)
+                .build();
+    }
+}
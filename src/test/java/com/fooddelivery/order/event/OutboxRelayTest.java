@@ -0,0 +1,175 @@
+package com.fooddelivery.order.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.order.entity.OutboxEvent;
+import com.fooddelivery.order.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+
+        relay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new TransactionTemplate(transactionManager),
+                objectMapper, true, 3, Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+        lenient().when(outboxEventRepository.tryAcquireLease(anyString(), anyString(), anyDouble())).thenReturn(1);
+    }
+
+    @Test
+    void testRelaysBatchInOrderAndDeletesAcknowledgedRows() {
+
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "ORD-A"), row(2L, "ORD-B"), row(3L, "ORD-A")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked());
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(3, relayed);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, times(3)).send(eq(OutboxRelay.ORDER_TOPIC), anyString(), events.capture());
+        assertEquals(List.of(1L, 2L, 3L),
+                events.getAllValues().stream().map(e -> ((OrderEvent) e).getEventId()).toList());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void testReadTransactionCommitsBeforePublishing() {
+
+        when(outboxEventRepository.findOldest(any(Pageable.class))).thenReturn(List.of(row(1L, "ORD-A")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked());
+
+        relay.relayBatch();
+
+        InOrder inOrder = inOrder(transactionManager, kafkaTemplate, outboxEventRepository);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(kafkaTemplate).send(eq(OutboxRelay.ORDER_TOPIC), eq("ORD-A"), any());
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void testLeaseMustOutlastSendTimeout() {
+
+        assertThrows(IllegalArgumentException.class, () -> new OutboxRelay(outboxEventRepository, kafkaTemplate,
+                new TransactionTemplate(transactionManager), objectMapper, true, 3,
+                Duration.ofSeconds(10), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void testFailedSendKeepsThatRowAndLaterRowsForTheSameKey() {
+
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(List.of(row(1L, "ORD-A"), row(2L, "ORD-B"), row(3L, "ORD-A")));
+        when(kafkaTemplate.send(anyString(), eq("ORD-A"), any()))
+                .thenReturn(failed())
+                .thenReturn(acked());
+        when(kafkaTemplate.send(anyString(), eq("ORD-B"), any())).thenReturn(acked());
+
+        int relayed = relay.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    void testSkipsWhenAnotherInstanceHoldsTheRelayLease() {
+
+        when(outboxEventRepository.tryAcquireLease(anyString(), anyString(), anyDouble())).thenReturn(0);
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxEventRepository, never()).findOldest(any());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void testDrainKeepsGoingWhileBatchesAreFull() {
+
+        List<OutboxEvent> backlog = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            backlog.add(row(id, "ORD-" + id));
+        }
+        when(outboxEventRepository.findOldest(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable page = invocation.getArgument(0);
+            return List.copyOf(backlog.subList(0, Math.min(page.getPageSize(), backlog.size())));
+        });
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            backlog.removeIf(row -> ids.contains(row.getId()));
+            return null;
+        }).when(outboxEventRepository).deleteAllByIdInBatch(any());
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked());
+
+        relay.drain();
+
+        assertTrue(backlog.isEmpty());
+        verify(outboxEventRepository, times(3)).findOldest(any(Pageable.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private OutboxEvent row(Long id, String orderNumber) {
+        OrderEvent event = OrderEvent.builder()
+                .orderId(id)
+                .orderNumber(orderNumber)
+                .eventType("ORDER_PLACED")
+                .build();
+        OutboxEvent row;
+        try {
+            row = OutboxEvent.builder()
+                    .aggregateKey(orderNumber)
+                    .eventType(event.getEventType())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        row.setId(id);
+        return row;
+    }
+
+    private static CompletableFuture<SendResult<String, Object>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<SendResult<String, Object>> failed() {
+        return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+    }
+}
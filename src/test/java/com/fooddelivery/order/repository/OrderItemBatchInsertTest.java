@@ -0,0 +1,105 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.common.jdbc.JdbcCallCounter;
+import com.fooddelivery.common.money.Money;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the order insert path against an in-memory database and counts the JDBC calls
+ * that actually reach the driver.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:batching;MODE=PostgreSQL"
+})
+@Import(JdbcCallCounter.Config.class)
+class OrderItemBatchInsertTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcCallCounter jdbcCalls;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcCalls.reset();
+    }
+
+    @Test
+    void testOrderItemsAreInsertedInOneBatch() {
+
+        // Same calls as OrderService.placeOrder
+        Order order = orderRepository.save(order());
+        assertEquals(0, jdbcCalls.batches("insert into orders"));
+
+        List<OrderItem> items = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> item(order, (long) i))
+                .toList();
+        orderItemRepository.saveAllAndFlush(items);
+
+        assertEquals(1, jdbcCalls.batches("insert into order_items"));
+        assertEquals(0, jdbcCalls.singleUpdates("insert into order_items"));
+        assertTrue(items.stream().allMatch(item -> item.getId() != null));
+        assertNotNull(order.getCreatedAt());
+    }
+
+    @Test
+    void testIdsAreAllocatedInPooledBlocks() {
+
+        for (int i = 0; i < 10; i++) {
+            orderRepository.save(order());
+        }
+        entityManager.flush();
+
+        // 10 ids fit in one block of 50, so the sequence is hit at most twice (pooled warm-up)
+        assertTrue(jdbcCalls.queries("orders_id_seq") <= 2);
+        assertEquals(1, jdbcCalls.batches("insert into orders"));
+    }
+
+    private static Order order() {
+        return Order.builder()
+                .customerId(10L)
+                .restaurantId(1L)
+                .subtotal(Money.of(new BigDecimal("500.00")))
+                .totalAmount(Money.of(new BigDecimal("620.00")))
+                .deliveryAddress("123 Main St")
+                .deliveryCity("Mumbai")
+                .deliveryPincode("400001")
+                .deliveryPhone("9876543210")
+                .build();
+    }
+
+    private static OrderItem item(Order order, Long menuItemId) {
+        return OrderItem.builder()
+                .order(order)
+                .menuItemId(menuItemId)
+                .menuItemName("Item " + menuItemId)
+                .quantity(1)
+                .unitPrice(Money.of(new BigDecimal("100.00")))
+                .totalPrice(Money.of(new BigDecimal("100.00")))
+                .build();
+    }
+}
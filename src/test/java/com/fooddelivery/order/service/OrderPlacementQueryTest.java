@@ -0,0 +1,146 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.common.cache.LocalCacheInvalidationBus;
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.common.jdbc.JdbcCallCounter;
+import com.fooddelivery.order.dto.CartItemRequest;
+import com.fooddelivery.order.dto.OrderRequest;
+import com.fooddelivery.order.dto.OrderResponse;
+import com.fooddelivery.order.event.OrderOutbox;
+import com.fooddelivery.order.repository.OrderItemRepository;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.service.MenuSnapshotRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Places orders against an in-memory database, each in its own transaction, and counts the
+ * menu queries that reach the driver: pricing must not issue one per cart line.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:orderplacement;MODE=PostgreSQL",
+        "app.cache.invalidation=local"
+})
+@Import({OrderService.class, MenuSnapshotRegistry.class, LocalCacheInvalidationBus.class, JdbcCallCounter.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderPlacementQueryTest {
+
+    private static final String MENU_QUERY = "from menu_items";
+    private static final int MENU_SIZE = 15;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcCallCounter jdbcCalls;
+
+    @MockBean
+    private OrderOutbox orderOutbox;
+
+    private Restaurant restaurant;
+    private final List<Long> menuItemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+
+        orderItemRepository.deleteAll();
+        orderRepository.deleteAll();
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        menuItemIds.clear();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(7L)
+                .status(RestaurantStatus.ACTIVE)
+                .deliveryFee(new BigDecimal("30.00"))
+                .build());
+        for (int i = 1; i <= MENU_SIZE; i++) {
+            menuItemIds.add(menuItemRepository.save(MenuItem.builder()
+                    .restaurant(restaurant)
+                    .name("Item " + i)
+                    .price(new BigDecimal("100.00").add(BigDecimal.valueOf(i)))
+                    .build()).getId());
+        }
+        jdbcCalls.reset();
+    }
+
+    @Test
+    void testFirstOrderLoadsTheMenuOnce() {
+
+        OrderResponse response = orderService.placeOrder(request(MENU_SIZE), 10L);
+
+        assertEquals(MENU_SIZE, response.getOrderItems().size());
+        assertEquals(1, jdbcCalls.queries(MENU_QUERY));
+    }
+
+    @Test
+    void testMenuQueriesDoNotGrowWithCartSize() {
+
+        orderService.placeOrder(request(1), 10L);
+
+        jdbcCalls.reset();
+        orderService.placeOrder(request(1), 10L);
+        int singleLine = jdbcCalls.queries(MENU_QUERY);
+
+        jdbcCalls.reset();
+        orderService.placeOrder(request(MENU_SIZE), 10L);
+        int fullMenu = jdbcCalls.queries(MENU_QUERY);
+
+        assertEquals(0, singleLine);
+        assertEquals(singleLine, fullMenu);
+    }
+
+    private OrderRequest request(int lines) {
+        OrderRequest request = new OrderRequest();
+        request.setRestaurantId(restaurant.getId());
+        request.setDeliveryAddress("123 Main St");
+        request.setDeliveryCity("Mumbai");
+        request.setDeliveryPincode("400001");
+        request.setDeliveryPhone("9876543210");
+        List<CartItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            CartItemRequest item = new CartItemRequest();
+            item.setMenuItemId(menuItemIds.get(i));
+            item.setQuantity(2);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+}
@@ -1,26 +1,49 @@
 package com.fooddelivery.order.service;
 
 import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.common.exception.ResourceNotFoundException;
+import com.fooddelivery.common.money.Money;
+import com.fooddelivery.order.dto.CartItemRequest;
+import com.fooddelivery.order.dto.OrderCursorPage;
 import com.fooddelivery.order.dto.OrderRequest;
+import com.fooddelivery.order.dto.OrderResponse;
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.restaurant.entity.MenuItem;
 import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.order.repository.OrderItemRepository;
 import com.fooddelivery.order.repository.OrderRepository;
-import com.fooddelivery.restaurant.repository.MenuItemRepository;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.service.MenuSnapshot;
+import com.fooddelivery.restaurant.service.MenuSnapshotRegistry;
 import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OrderOutbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,14 +52,20 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
     @Mock
     private RestaurantRepository restaurantRepository;
 
     @Mock
-    private MenuItemRepository menuItemRepository;
+    private MenuSnapshotRegistry menuSnapshots;
 
     @Mock
-    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private OrderService orderService;
@@ -73,21 +102,200 @@ class OrderServiceTest {
                 .build();
 
         menuItem.setId(1L);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     void testPlaceOrder_Success() {
 
+        orderRequest.setItems(List.of(cartItem(1L, 2)));
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(menuSnapshots.get(1L, 0L)).thenReturn(MenuSnapshot.of(1L, 4L, List.of(menuItem)));
+        stubOrderSave();
+
+        OrderResponse response = orderService.placeOrder(orderRequest, 10L);
+
+        assertNotNull(response);
+        assertEquals(4L, response.getMenuVersion());
+        assertEquals(1, response.getOrderItems().size());
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(response.getSubtotal()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(response.getDeliveryFee()));
+        verify(orderItemRepository, times(1)).saveAllAndFlush(anyList());
+        verify(orderOutbox).append(argThat((OrderEvent event) -> "ORDER_PLACED".equals(event.getEventType())));
+    }
+
+    @Test
+    void testPlaceOrder_PassesRestaurantMenuVersionToSnapshotLookup() {
+
+        restaurant.setMenuVersion(6L);
+        orderRequest.setItems(List.of(cartItem(1L, 1)));
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(menuSnapshots.get(1L, 6L)).thenReturn(MenuSnapshot.of(1L, 6L, List.of(menuItem)));
+        stubOrderSave();
+
+        OrderResponse response = orderService.placeOrder(orderRequest, 10L);
+
+        assertEquals(6L, response.getMenuVersion());
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    void testPlaceOrder_TaxIsRoundedOnceAndTotalsAreExact() {
+
+        menuItem.setPrice(new BigDecimal("149.99"));
+        orderRequest.setItems(List.of(cartItem(1L, 1)));
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(menuSnapshots.get(1L, 0L)).thenReturn(MenuSnapshot.of(1L, 1L, List.of(menuItem)));
+        stubOrderSave();
+
+        OrderResponse response = orderService.placeOrder(orderRequest, 10L);
+
+        // 18% of 149.99 is 26.9982
+        assertEquals(new BigDecimal("27.00"), response.getTax());
+        assertEquals(new BigDecimal("206.99"), response.getTotalAmount());
+        assertEquals(response.getTotalAmount(),
+                response.getSubtotal().add(response.getDeliveryFee()).add(response.getTax()));
+    }
+
+    @Test
+    void testPlaceOrder_SingleSnapshotLookupRegardlessOfCartSize() {
+
+        int cartSize = 15;
+        List<MenuItem> menu = new ArrayList<>();
+        for (long id = 1; id <= cartSize; id++) {
+            MenuItem item = MenuItem.builder()
+                    .name("Item " + id)
+                    .price(BigDecimal.valueOf(100))
+                    .available(true)
+                    .build();
+            item.setId(id);
+            menu.add(item);
+        }
+
+        orderRequest.setItems(IntStream.rangeClosed(1, cartSize)
+                .mapToObj(id -> cartItem((long) id, 1))
+                .collect(Collectors.toList()));
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(menuSnapshots.get(1L, 0L)).thenReturn(MenuSnapshot.of(1L, 1L, menu));
+        stubOrderSave();
+
+        OrderResponse response = orderService.placeOrder(orderRequest, 10L);
+
+        assertEquals(cartSize, response.getOrderItems().size());
+        verify(menuSnapshots, times(1)).get(1L, 0L);
+    }
+
+    @Test
+    void testPlaceOrder_MenuItemFromOtherRestaurant() {
+
+        orderRequest.setItems(List.of(cartItem(99L, 1)));
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+        when(menuSnapshots.get(1L, 0L)).thenReturn(MenuSnapshot.of(1L, 1L, List.of(menuItem)));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.placeOrder(orderRequest, 10L));
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testPlaceOrder_MenuItemUnavailable() {
+
+        menuItem.setAvailable(false);
+        orderRequest.setItems(List.of(cartItem(1L, 1)));
+
         when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
-        when(menuItemRepository.findById(1L)).thenReturn(Optional.of(menuItem));
+        when(menuSnapshots.get(1L, 0L)).thenReturn(MenuSnapshot.of(1L, 1L, List.of(menuItem)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.placeOrder(orderRequest, 10L));
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testGetByRestaurant_LoadsItemsForWholePageInOneQuery() {
+
+        Pageable pageable = PageRequest.of(0, 3);
+        Page<Long> idPage = new PageImpl<>(List.of(7L, 5L, 6L), pageable, 10);
+
+        when(orderRepository.findIdsByRestaurantId(1L, pageable)).thenReturn(idPage);
+        when(orderRepository.findWithItemsByIdIn(List.of(7L, 5L, 6L)))
+                .thenReturn(List.of(order(5L), order(6L), order(7L)));
+
+        Page<OrderResponse> page = orderService.getByRestaurant(1L, pageable);
+
+        assertEquals(10, page.getTotalElements());
+        assertEquals(List.of(7L, 5L, 6L),
+                page.getContent().stream().map(OrderResponse::getId).collect(Collectors.toList()));
+        verify(orderRepository, times(1)).findWithItemsByIdIn(anyCollection());
+        verify(orderItemRepository, never()).findByOrderId(anyLong());
+    }
 
+    @Test
+    void testGetByCustomerFeed_ReturnsCursorThatSeeksPastLastRow() {
+
+        when(orderRepository.findFirstIdsByCustomerId(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(7L, 6L, 5L));
+        when(orderRepository.findWithItemsByIdIn(List.of(7L, 6L)))
+                .thenReturn(List.of(order(6L), order(7L)));
+
+        OrderCursorPage first = orderService.getByCustomer(10L, null, 2);
+
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(7L, 6L),
+                first.getContent().stream().map(OrderResponse::getId).collect(Collectors.toList()));
+
+        when(orderRepository.findIdsByCustomerIdBefore(eq(10L), any(), eq(6L), any(Pageable.class)))
+                .thenReturn(List.of(5L));
+        when(orderRepository.findWithItemsByIdIn(List.of(5L))).thenReturn(List.of(order(5L)));
+
+        OrderCursorPage second = orderService.getByCustomer(10L, first.getNextCursor(), 2);
+
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        assertEquals(5L, second.getContent().get(0).getId());
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void testGetByCustomerFeed_InvalidCursor() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getByCustomer(10L, "not-a-cursor", 20));
+    }
+
+    private Order order(Long id) {
+        Order order = Order.builder()
+                .customerId(10L)
+                .restaurantId(1L)
+                .subtotal(Money.ofMinorUnits(1000))
+                .totalAmount(Money.ofMinorUnits(1000))
+                .build();
+        order.setId(id);
+        order.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30).plusMinutes(id));
+        return order;
+    }
+
+    private CartItemRequest cartItem(Long menuItemId, int quantity) {
+        CartItemRequest item = new CartItemRequest();
+        item.setMenuItemId(menuItemId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private void stubOrderSave() {
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setId(1L);
             return order;
         });
-
-        // This test is only checking wiring (no assertion needed yet)
-        // Full flow would require mocking order items request
     }
 }
@@ -0,0 +1,141 @@
+package com.fooddelivery.payment.gateway;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentGatewayClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentGatewayClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void testCharge_Approved() {
+
+        client = client(new StubPaymentGateway(1.0, 0.0, 0, 0, 0.0, 0), 10, Duration.ofSeconds(1));
+
+        GatewayResult result = client.charge(request());
+
+        assertTrue(result.isApproved());
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "approved").timer().count());
+    }
+
+    @Test
+    void testCharge_Declined() {
+
+        client = client(new StubPaymentGateway(0.0, 0.0, 0, 0, 0.0, 0), 10, Duration.ofSeconds(1));
+
+        GatewayResult result = client.charge(request());
+
+        assertEquals(GatewayResult.Outcome.DECLINED, result.getOutcome());
+        assertTrue(result.isFinal());
+    }
+
+    @Test
+    void testCharge_SlowGatewayTimesOut() {
+
+        client = client(new StubPaymentGateway(1.0, 0.0, 2_000, 0, 0.0, 0), 10, Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        GatewayResult result = client.charge(request());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(result.isApproved());
+        assertEquals(GatewayResult.Outcome.UNKNOWN, result.getOutcome());
+        assertEquals("No response from payment gateway", result.getFailureReason());
+        assertTrue(elapsedMs < 1_000, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testCharge_BulkheadRejectsExcessConcurrentCalls() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        PaymentGateway blocking = new PaymentGateway() {
+            @Override
+            public String getName() {
+                return "blocking";
+            }
+
+            @Override
+            public GatewayResult charge(GatewayRequest request) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return GatewayResult.approved("ok");
+            }
+        };
+        client = client(blocking, 2, Duration.ofSeconds(5));
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        List<Future<GatewayResult>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            inFlight.add(callers.submit(() -> client.charge(request())));
+        }
+        Thread.sleep(200);
+
+        GatewayResult rejected = client.charge(request());
+        release.countDown();
+
+        assertEquals(GatewayResult.Outcome.NOT_ATTEMPTED, rejected.getOutcome());
+        assertEquals("Too many concurrent gateway calls", rejected.getFailureReason());
+        for (Future<GatewayResult> call : inFlight) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).isApproved());
+        }
+        callers.shutdown();
+    }
+
+    @Test
+    void testCharge_CircuitOpensAfterGatewayErrors() {
+
+        client = client(new StubPaymentGateway(1.0, 1.0, 0, 0, 0.0, 0), 10, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 20; i++) {
+            GatewayResult error = client.charge(request());
+            assertEquals(GatewayResult.Outcome.UNKNOWN, error.getOutcome());
+            assertEquals("Payment gateway error", error.getFailureReason());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        GatewayResult open = client.charge(request());
+        assertEquals(GatewayResult.Outcome.NOT_ATTEMPTED, open.getOutcome());
+        assertEquals("Payment gateway circuit is open", open.getFailureReason());
+    }
+
+    private PaymentGatewayClient client(PaymentGateway gateway, int maxConcurrentCalls, Duration timeout) {
+        return new PaymentGatewayClient(gateway, meterRegistry,
+                maxConcurrentCalls, Duration.ZERO, timeout,
+                50, Duration.ofSeconds(2), 80, 20, 20, Duration.ofSeconds(30));
+    }
+
+    private GatewayRequest request() {
+        return GatewayRequest.builder()
+                .paymentId(1L)
+                .orderId(1L)
+                .transactionId("TXN1")
+                .amount(new BigDecimal("735.64"))
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.fooddelivery.payment.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubPaymentGatewayTest {
+
+    @Test
+    void testRepeatChargeReturnsFirstOutcome() {
+
+        StubPaymentGateway gateway = new StubPaymentGateway(0.5, 0.0, 0, 0, 0.0, 0);
+
+        // With a coin-flip success rate, 50 fresh draws agreeing by chance is about 1 in 10^15
+        for (int i = 0; i < 50; i++) {
+            GatewayResult first = gateway.charge(request("TXN" + i));
+            GatewayResult repeat = gateway.charge(request("TXN" + i));
+
+            assertEquals(first, repeat);
+        }
+    }
+
+    private GatewayRequest request(String transactionId) {
+        return GatewayRequest.builder()
+                .paymentId(1L)
+                .orderId(1L)
+                .transactionId(transactionId)
+                .amount(new BigDecimal("735.64"))
+                .build();
+    }
+}
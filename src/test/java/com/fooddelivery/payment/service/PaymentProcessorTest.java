@@ -0,0 +1,228 @@
+package com.fooddelivery.payment.service;
+
+import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
+import com.fooddelivery.payment.gateway.GatewayRequest;
+import com.fooddelivery.payment.gateway.GatewayResult;
+import com.fooddelivery.payment.gateway.PaymentGateway;
+import com.fooddelivery.payment.gateway.PaymentGatewayClient;
+import com.fooddelivery.payment.gateway.StubPaymentGateway;
+import com.fooddelivery.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentProcessor paymentProcessor;
+
+    private final Map<Long, Payment> payments = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+
+        paymentProcessor = processorCalling(new StubPaymentGateway(1.0, 0.0, 50, 0, 0.0, 0));
+
+        lenient().when(paymentRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(payments.get(invocation.<Long>getArgument(0))));
+        lenient().when(paymentRepository.save(any(Payment.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testProcess_CompletesPayment() {
+
+        payments.put(1L, processingPayment(1L));
+
+        paymentProcessor.process(event(1L));
+
+        assertEquals(PaymentStatus.COMPLETED, payments.get(1L).getStatus());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testProcess_DeclineFailsPayment() {
+
+        payments.put(1L, processingPayment(1L));
+
+        processorReturning(GatewayResult.declined("Payment failed", "Card declined")).process(event(1L));
+
+        assertEquals(PaymentStatus.FAILED, payments.get(1L).getStatus());
+        assertEquals("Card declined", payments.get(1L).getFailureReason());
+    }
+
+    @Test
+    void testProcess_TimeoutLeavesPaymentProcessing() {
+
+        payments.put(1L, processingPayment(1L));
+
+        processorReturning(GatewayResult.unknown("Payment gateway timed out", "No response from payment gateway"))
+                .process(event(1L));
+
+        assertEquals(PaymentStatus.PROCESSING, payments.get(1L).getStatus());
+        assertEquals("No response from payment gateway", payments.get(1L).getFailureReason());
+    }
+
+    @Test
+    void testProcess_OpenCircuitLeavesPaymentProcessing() {
+
+        payments.put(1L, processingPayment(1L));
+
+        processorReturning(GatewayResult.notAttempted("Payment gateway unavailable", "Payment gateway circuit is open"))
+                .process(event(1L));
+
+        assertEquals(PaymentStatus.PROCESSING, payments.get(1L).getStatus());
+    }
+
+    @Test
+    void testProcess_IgnoresPaymentNoLongerProcessing() {
+
+        Payment refunded = processingPayment(1L);
+        refunded.setStatus(PaymentStatus.REFUNDED);
+        payments.put(1L, refunded);
+
+        paymentProcessor.process(event(1L));
+
+        assertEquals(PaymentStatus.REFUNDED, payments.get(1L).getStatus());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testDispatch_RejectedByFullExecutorLeavesPaymentProcessing() {
+
+        payments.put(1L, processingPayment(1L));
+        PaymentProcessor saturated = new PaymentProcessor(paymentRepository, new TransactionTemplate(transactionManager),
+                mock(PaymentGatewayClient.class), task -> {
+                    throw new TaskRejectedException("queue full");
+                });
+
+        assertFalse(saturated.dispatch(event(1L)));
+        assertEquals(PaymentStatus.PROCESSING, payments.get(1L).getStatus());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void testDispatch_RunsOnExecutor() {
+
+        payments.put(1L, processingPayment(1L));
+
+        assertTrue(paymentProcessor.dispatch(event(1L)));
+        assertEquals(PaymentStatus.COMPLETED, payments.get(1L).getStatus());
+    }
+
+    @Test
+    void testProcess_TwoHundredConcurrentPayments() throws InterruptedException {
+
+        // Lets the first calls through only once ten of them are in flight at the same time
+        int overlap = 10;
+        CountDownLatch overlapping = new CountDownLatch(overlap);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        PaymentGateway gateway = new PaymentGateway() {
+            @Override
+            public String getName() {
+                return "overlap";
+            }
+
+            @Override
+            public GatewayResult charge(GatewayRequest request) {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    overlapping.countDown();
+                    overlapping.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return GatewayResult.approved("Payment successful");
+            }
+        };
+        PaymentProcessor processor = processorCalling(gateway);
+
+        int concurrentPayments = 200;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(50);
+        executor.setMaxPoolSize(50);
+        executor.setQueueCapacity(concurrentPayments);
+        executor.initialize();
+
+        CountDownLatch done = new CountDownLatch(concurrentPayments);
+        for (long id = 1; id <= concurrentPayments; id++) {
+            payments.put(id, processingPayment(id));
+            long paymentId = id;
+            executor.execute(() -> {
+                processor.process(event(paymentId));
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Serialised calls would each wait out the latch alone, never more than one in flight
+        assertTrue(peakInFlight.get() >= overlap, "peak in flight " + peakInFlight.get());
+        assertTrue(payments.values().stream().allMatch(p -> p.getStatus() == PaymentStatus.COMPLETED));
+    }
+
+    private PaymentProcessor processorCalling(PaymentGateway gateway) {
+        PaymentGatewayClient gatewayClient = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(),
+                50, Duration.ofSeconds(1), Duration.ofSeconds(2),
+                50, Duration.ofSeconds(1), 80, 50, 20, Duration.ofSeconds(30));
+        return new PaymentProcessor(paymentRepository, new TransactionTemplate(transactionManager),
+                gatewayClient, Runnable::run);
+    }
+
+    private PaymentProcessor processorReturning(GatewayResult result) {
+        PaymentGatewayClient gatewayClient = mock(PaymentGatewayClient.class);
+        when(gatewayClient.charge(any())).thenReturn(result);
+        return new PaymentProcessor(paymentRepository, new TransactionTemplate(transactionManager),
+                gatewayClient, Runnable::run);
+    }
+
+    private Payment processingPayment(Long id) {
+        Payment payment = Payment.builder()
+                .orderId(id)
+                .transactionId("TXN" + id)
+                .status(PaymentStatus.PROCESSING)
+                .build();
+        payment.setId(id);
+        return payment;
+    }
+
+    private PaymentInitiatedEvent event(Long paymentId) {
+        return PaymentInitiatedEvent.builder()
+                .paymentId(paymentId)
+                .orderId(paymentId)
+                .transactionId("TXN" + paymentId)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.fooddelivery.payment.service;
+
+import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
+import com.fooddelivery.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRecoveryTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    private PaymentRecovery recovery;
+
+    @BeforeEach
+    void setUp() {
+        recovery = new PaymentRecovery(paymentRepository, paymentProcessor, true, Duration.ofMinutes(2), 100);
+    }
+
+    @Test
+    void testRedispatchStalled_DispatchesClaimedPayments() {
+
+        when(paymentRepository.findByStatusAndUpdatedAtBefore(eq(PaymentStatus.PROCESSING), any(), any()))
+                .thenReturn(List.of(payment(1L), payment(2L)));
+        when(paymentRepository.claimStale(eq(1L), eq(PaymentStatus.PROCESSING), any(), any())).thenReturn(1);
+        when(paymentRepository.claimStale(eq(2L), eq(PaymentStatus.PROCESSING), any(), any())).thenReturn(0);
+        when(paymentProcessor.dispatch(any())).thenReturn(true);
+
+        recovery.redispatchStalled();
+
+        // Payment 2 was claimed by another instance first
+        verify(paymentProcessor).dispatch(argThat((PaymentInitiatedEvent event) ->
+                event.getPaymentId() == 1L && "TXN1".equals(event.getTransactionId())));
+        verifyNoMoreInteractions(paymentProcessor);
+    }
+
+    @Test
+    void testRedispatchStalled_StopsWhileExecutorIsFull() {
+
+        when(paymentRepository.findByStatusAndUpdatedAtBefore(eq(PaymentStatus.PROCESSING), any(), any()))
+                .thenReturn(List.of(payment(1L), payment(2L)));
+        when(paymentRepository.claimStale(any(), any(), any(), any())).thenReturn(1);
+        when(paymentProcessor.dispatch(any())).thenReturn(false);
+
+        recovery.redispatchStalled();
+
+        verify(paymentProcessor, times(1)).dispatch(any());
+        verify(paymentRepository, never()).claimStale(eq(2L), any(), any(), any());
+    }
+
+    @Test
+    void testRedispatchStalled_DisabledDoesNothing() {
+
+        new PaymentRecovery(paymentRepository, paymentProcessor, false, Duration.ofMinutes(2), 100).redispatchStalled();
+
+        verifyNoInteractions(paymentRepository, paymentProcessor);
+    }
+
+    private Payment payment(Long id) {
+        Payment payment = Payment.builder()
+                .orderId(id)
+                .transactionId("TXN" + id)
+                .status(PaymentStatus.PROCESSING)
+                .build();
+        payment.setId(id);
+        return payment;
+    }
+}
@@ -0,0 +1,106 @@
+package com.fooddelivery.payment.service;
+
+import com.fooddelivery.common.enums.PaymentMethod;
+import com.fooddelivery.common.enums.PaymentStatus;
+import com.fooddelivery.common.money.Money;
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.payment.dto.PaymentRequest;
+import com.fooddelivery.payment.dto.PaymentResponse;
+import com.fooddelivery.payment.entity.Payment;
+import com.fooddelivery.payment.event.PaymentInitiatedEvent;
+import com.fooddelivery.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PaymentService paymentService;
+
+    private PaymentRequest paymentRequest;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+
+        paymentRequest = new PaymentRequest();
+        paymentRequest.setOrderId(1L);
+        paymentRequest.setPaymentMethod(PaymentMethod.UPI);
+
+        order = Order.builder()
+                .customerId(10L)
+                .restaurantId(1L)
+                .totalAmount(Money.of(new BigDecimal("735.64")))
+                .build();
+
+        order.setId(1L);
+    }
+
+    @Test
+    void testProcessPayment_ReturnsProcessingAndHandsOffToGateway() {
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderId(1L)).thenReturn(Optional.empty());
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setId(5L);
+            return payment;
+        });
+
+        PaymentResponse response = paymentService.processPayment(paymentRequest);
+
+        assertEquals(PaymentStatus.PROCESSING, response.getStatus());
+        verify(paymentRepository, times(1)).saveAndFlush(any(Payment.class));
+        verify(eventPublisher).publishEvent(any(PaymentInitiatedEvent.class));
+    }
+
+    @Test
+    void testProcessPayment_AlreadyExists() {
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderId(1L)).thenReturn(Optional.of(new Payment()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> paymentService.processPayment(paymentRequest));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testProcessPayment_ConcurrentDuplicateRejectedByUniqueIndex() {
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByOrderId(1L)).thenReturn(Optional.empty());
+        when(paymentRepository.saveAndFlush(any(Payment.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_payments_order_id"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> paymentService.processPayment(paymentRequest));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,211 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.common.cache.LocalCacheInvalidationBus;
+import com.fooddelivery.common.cache.TwoLevelCacheManager;
+import com.fooddelivery.restaurant.dto.RestaurantRequest;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogSecondLevelCacheInvalidator;
+import com.fooddelivery.restaurant.event.RestaurantCacheInvalidator;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import com.fooddelivery.restaurant.service.RestaurantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog repositories with the second-level cache configured in application.yml,
+ * each call in its own transaction, and counts the statements that reach the database.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:catalogcache;MODE=PostgreSQL",
+        "app.cache.invalidation=local"
+})
+@Import({LocalCacheInvalidationBus.class, CatalogSecondLevelCacheInvalidator.class, RestaurantService.class,
+        RestaurantCacheInvalidator.class, CatalogSecondLevelCacheTest.CachingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogSecondLevelCacheTest {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LocalCacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private CatalogSearchIndex searchIndex;
+
+    private Statistics statistics;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(7L)
+                .build());
+        menuItemRepository.save(item("Margherita Pizza"));
+
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testRestaurantLookupsAreServedFromCache() {
+
+        restaurantRepository.findById(restaurant.getId()).orElseThrow();
+        restaurantRepository.findById(restaurant.getId()).orElseThrow();
+        restaurantRepository.findById(restaurant.getId()).orElseThrow();
+
+        // Only the first lookup, in its own transaction, reaches the database
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("entity.restaurant").getHitCount());
+    }
+
+    @Test
+    void testMenuQueryIsCachedUntilMenuItemsChange() {
+
+        assertEquals(1, menuItemRepository.findByRestaurantId(restaurant.getId()).size());
+        long afterFirstRead = statistics.getPrepareStatementCount();
+        assertEquals(1, menuItemRepository.findByRestaurantId(restaurant.getId()).size());
+
+        assertEquals(afterFirstRead, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(MenuItemRepository.MENU_BY_RESTAURANT_REGION).getHitCount());
+
+        menuItemRepository.save(item("Garlic Bread"));
+
+        assertEquals(2, menuItemRepository.findByRestaurantId(restaurant.getId()).size());
+    }
+
+    @Test
+    void testInvalidationsFromOtherInstancesEvictRegions() {
+
+        restaurantRepository.findById(restaurant.getId());
+        menuItemRepository.findByRestaurantId(restaurant.getId());
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Restaurant.class, restaurant.getId()));
+
+        invalidationBus.publish("restaurants", String.valueOf(restaurant.getId()));
+        invalidationBus.publish("menus", String.valueOf(restaurant.getId()));
+
+        assertFalse(cache.contains(Restaurant.class, restaurant.getId()));
+        statistics.clear();
+        menuItemRepository.findByRestaurantId(restaurant.getId());
+        assertEquals(1, statistics.getQueryRegionStatistics(MenuItemRepository.MENU_BY_RESTAURANT_REGION).getMissCount());
+    }
+
+    @Test
+    void testMenuInvalidationEvictsTheRestaurantToo() {
+
+        restaurantRepository.findById(restaurant.getId());
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Restaurant.class, restaurant.getId()));
+
+        invalidationBus.publish("menus", String.valueOf(restaurant.getId()));
+
+        // Its menuVersion and @Version moved with the menu, so the cached copy is stale
+        assertFalse(cache.contains(Restaurant.class, restaurant.getId()));
+    }
+
+    @Test
+    void testRestaurantEvictionReachesOtherInstancesAfterCommit() {
+
+        // What another instance would reload into its region when the message reaches it
+        JdbcTemplate otherConnection = new JdbcTemplate(dataSource);
+        String restaurantKey = String.valueOf(restaurant.getId());
+        List<String> reloadedNames = new CopyOnWriteArrayList<>();
+        invalidationBus.subscribe((cacheName, key) -> {
+            if ("restaurants".equals(cacheName) && restaurantKey.equals(key)) {
+                reloadedNames.add(CompletableFuture.supplyAsync(() -> otherConnection.queryForObject(
+                        "SELECT name FROM restaurants WHERE id = ?", String.class, Long.valueOf(key))).join());
+            }
+        });
+        RestaurantRequest rename = new RestaurantRequest();
+        rename.setName("Pizza House");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            restaurantService.update(restaurant.getId(), rename, restaurant.getOwnerId());
+            restaurantRepository.flush();
+            assertTrue(reloadedNames.isEmpty());
+        });
+
+        assertEquals(List.of("Pizza House"), reloadedNames);
+        assertEquals("Pizza House", restaurantRepository.findById(restaurant.getId()).orElseThrow().getName());
+    }
+
+    private MenuItem item(String name) {
+        return MenuItem.builder()
+                .restaurant(restaurant)
+                .name(name)
+                .price(new BigDecimal("199.00"))
+                .build();
+    }
+
+    // The restaurants cache as deployed: a near copy whose evictions go out on the invalidation bus
+    @TestConfiguration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager(LocalCacheInvalidationBus invalidationBus) {
+            return new TwoLevelCacheManager(new ConcurrentMapCacheManager("restaurants"), invalidationBus,
+                    new SimpleMeterRegistry(), Set.of("restaurants"), 100, Duration.ofMinutes(1),
+                    Duration.ZERO, Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.MenuItemSearchHit;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+
+        index = new CatalogSearchIndex();
+        index.index(restaurant(1L, "Pizza Palace", "Italian", "Mumbai", "Wood fired since 1998"),
+                List.of(item(11L, "Margherita Pizza", "Pizza"), item(12L, "Garlic Bread", "Sides")));
+        index.index(restaurant(2L, "Spice Route", "North Indian", "Mumbai", "Home style curries"),
+                List.of(item(21L, "Paneer Tikka", "Starters"), item(22L, "Garlic Naan", "Breads")));
+        index.index(restaurant(3L, "Crème de la Pizza", "Italian", "Pune", null),
+                List.of(item(31L, "Four Cheese", "Pizza")));
+    }
+
+    @Test
+    void testRankedByBestFieldWeight() {
+
+        List<RestaurantSearchResult> results = index.search("pizza", null, 10);
+
+        assertEquals(List.of(1L, 3L), ids(results));
+        assertEquals(List.of("Margherita Pizza"), names(results.get(0).getMatchingItems()));
+
+        // A dish name beats a category that only matches by prefix
+        assertEquals(List.of(1L, 2L), ids(index.search("bread", null, 10)));
+    }
+
+    @Test
+    void testEveryTermMustMatchRestaurantOrOneOfItsDishes() {
+
+        assertEquals(List.of(2L), ids(index.search("indian paneer", null, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("garlic", null, 10)));
+        assertTrue(index.search("paneer pizza", null, 10).isEmpty());
+    }
+
+    @Test
+    void testPrefixAccentAndCityMatching() {
+
+        assertEquals(List.of(2L), ids(index.search("PAN", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("creme", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("pizza", "pune", 10)));
+        assertEquals(List.of(1L), ids(index.search("pizza", null, 1)));
+    }
+
+    @Test
+    void testReindexReplacesPreviousTerms() {
+
+        index.index(restaurant(2L, "Spice Route", "North Indian", "Mumbai", null),
+                List.of(item(23L, "Dal Makhani", "Mains")));
+
+        assertTrue(index.search("paneer", null, 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("makhani", null, 10)));
+    }
+
+    @Test
+    void testInactiveOrRemovedRestaurantsAreNotFound() {
+
+        Restaurant closed = restaurant(1L, "Pizza Palace", "Italian", "Mumbai", null);
+        closed.setStatus(RestaurantStatus.INACTIVE);
+        index.index(closed, List.of(item(11L, "Margherita Pizza", "Pizza")));
+        index.remove(3L);
+
+        assertTrue(index.search("pizza", null, 10).isEmpty());
+        assertEquals(List.of(2L), index.restaurantIds());
+    }
+
+    private List<Long> ids(List<RestaurantSearchResult> results) {
+        return results.stream().map(RestaurantSearchResult::getRestaurantId).toList();
+    }
+
+    private List<String> names(List<MenuItemSearchHit> hits) {
+        return hits.stream().map(MenuItemSearchHit::getName).toList();
+    }
+
+    @Test
+    void testPrefixExpandsToAtMost64Terms() {
+
+        // 70 restaurants, each with its own term starting with "zest"
+        for (int i = 0; i < 70; i++) {
+            String suffix = "" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            index.index(restaurant(100L + i, "Zest" + suffix, null, "Mumbai", null), List.of());
+        }
+
+        assertEquals(64, index.search("zest", null, 100).size());
+    }
+
+    @Test
+    void testOlderReindexArrivingLastIsIgnored() {
+
+        Restaurant renamed = restaurant(4L, "Pizza House", "Italian", "Mumbai", null);
+        renamed.setVersion(2L);
+        Restaurant original = restaurant(4L, "Burger Barn", "American", "Mumbai", null);
+        original.setVersion(1L);
+
+        // Two changes committed close together; the re-read of the first one lands second
+        index.index(renamed, List.of());
+        index.index(original, List.of());
+
+        assertEquals(List.of(4L), ids(index.search("house", null, 10)));
+        assertTrue(index.search("burger", null, 10).isEmpty());
+    }
+
+    @Test
+    void testOlderReindexCannotBringBackRemovedRestaurant() {
+
+        Restaurant closed = restaurant(4L, "Pizza House", "Italian", "Mumbai", null);
+        closed.setStatus(RestaurantStatus.INACTIVE);
+        closed.setVersion(3L);
+        Restaurant open = restaurant(4L, "Pizza House", "Italian", "Mumbai", null);
+        open.setVersion(2L);
+        Restaurant deleted = restaurant(5L, "Burger Barn", "American", "Mumbai", null);
+        deleted.setVersion(7L);
+
+        index.index(closed, List.of());
+        index.index(open, List.of());
+        index.remove(5L);
+        index.index(deleted, List.of());
+
+        assertTrue(index.search("house", null, 10).isEmpty());
+        assertTrue(index.search("burger", null, 10).isEmpty());
+    }
+
+    private Restaurant restaurant(Long id, String name, String cuisine, String city, String description) {
+        Restaurant restaurant = Restaurant.builder()
+                .name(name)
+                .cuisineType(cuisine)
+                .city(city)
+                .description(description)
+                .status(RestaurantStatus.ACTIVE)
+                .build();
+        restaurant.setId(id);
+        return restaurant;
+    }
+
+    private MenuItem item(Long id, String name, String category) {
+        MenuItem item = MenuItem.builder()
+                .name(name)
+                .category(category)
+                .price(new BigDecimal("199.00"))
+                .available(true)
+                .build();
+        item.setId(id);
+        return item;
+    }
+}
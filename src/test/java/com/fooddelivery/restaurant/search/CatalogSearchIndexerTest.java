@@ -0,0 +1,166 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.common.cache.LocalCacheInvalidationBus;
+import com.fooddelivery.restaurant.dto.MenuItemRequest;
+import com.fooddelivery.restaurant.dto.MenuItemResponse;
+import com.fooddelivery.restaurant.dto.RestaurantRequest;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.dto.RestaurantSearchResult;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.service.MenuItemService;
+import com.fooddelivery.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the catalog services against an in-memory database, committing each call, to check that
+ * the search index follows committed changes without a rebuild.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:catalogsearch;MODE=PostgreSQL",
+        "app.cache.invalidation=local"
+})
+@Import({RestaurantService.class, MenuItemService.class, CatalogSearchIndex.class, CatalogSearchIndexer.class,
+        LocalCacheInvalidationBus.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogSearchIndexerTest {
+
+    private static final long OWNER_ID = 7L;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private CatalogSearchIndex index;
+
+    @Autowired
+    private CatalogSearchIndexer indexer;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        indexer.rebuild();
+    }
+
+    @Test
+    void testCommittedChangesAreSearchable() {
+
+        RestaurantResponse restaurant = restaurantService.create(restaurantRequest("Spice Route", "North Indian"), OWNER_ID);
+        assertEquals(List.of(restaurant.getId()), ids(search("spice")));
+
+        MenuItemResponse tikka = menuItemService.create(restaurant.getId(), itemRequest("Paneer Tikka"), OWNER_ID);
+        assertEquals("Paneer Tikka", search("paneer").get(0).getMatchingItems().get(0).getName());
+
+        menuItemService.update(tikka.getId(), itemRequest("Chicken Tikka"), OWNER_ID);
+        assertTrue(search("paneer").isEmpty());
+        assertEquals(1, search("chicken tikka").size());
+
+        restaurantService.update(restaurant.getId(), restaurantRequest("Curry House", null), OWNER_ID);
+        assertTrue(search("spice").isEmpty());
+        assertEquals(1, search("curry chicken").size());
+
+        restaurantService.delete(restaurant.getId(), OWNER_ID);
+        assertTrue(search("curry").isEmpty());
+    }
+
+    @Test
+    void testRolledBackChangeIsNotIndexed() {
+
+        RestaurantResponse restaurant = restaurantService.create(restaurantRequest("Spice Route", null), OWNER_ID);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            menuItemService.create(restaurant.getId(), itemRequest("Paneer Tikka"), OWNER_ID);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(search("paneer").isEmpty());
+    }
+
+    @Test
+    void testRebuildAndRemoteChangesReadTheDatabase() {
+
+        Restaurant restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(OWNER_ID)
+                .build());
+        indexer.rebuild();
+        assertEquals(1, search("pizza").size());
+
+        // Written by another instance, which announces it on the bus
+        menuItemRepository.save(MenuItem.builder()
+                .restaurant(restaurant)
+                .name("Garlic Bread")
+                .price(new BigDecimal("99.00"))
+                .build());
+        invalidationBus.publish(CatalogSearchIndexer.SEARCH, String.valueOf(restaurant.getId()));
+
+        assertEquals(1, search("garlic").size());
+    }
+
+    private List<RestaurantSearchResult> search(String query) {
+        return index.search(query, null, 10);
+    }
+
+    private List<Long> ids(List<RestaurantSearchResult> results) {
+        return results.stream().map(RestaurantSearchResult::getRestaurantId).toList();
+    }
+
+    private RestaurantRequest restaurantRequest(String name, String cuisineType) {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(name);
+        request.setCuisineType(cuisineType);
+        request.setAddress("1 Food Street");
+        request.setCity("Mumbai");
+        request.setPincode("400001");
+        request.setPhone("9876543210");
+        return request;
+    }
+
+    private MenuItemRequest itemRequest(String name) {
+        MenuItemRequest request = new MenuItemRequest();
+        request.setName(name);
+        request.setPrice(new BigDecimal("249.00"));
+        return request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.MenuItemRequest;
+import com.fooddelivery.restaurant.dto.MenuItemResponse;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.MenuCacheInvalidator;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs MenuItemService against an in-memory database with caching on, committing each call,
+ * to check that readers of the cached menu see changes as soon as they commit.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:menucache;MODE=PostgreSQL"
+})
+@Import({MenuItemService.class, MenuCacheInvalidator.class, MenuCacheEvictionTest.CachingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MenuCacheEvictionTest {
+
+    private static final long OWNER_ID = 7L;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Restaurant restaurant;
+    private MenuItem pizza;
+
+    @BeforeEach
+    void setUp() {
+
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        cacheManager.getCache("menus").clear();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(OWNER_ID)
+                .build());
+        pizza = menuItemRepository.save(MenuItem.builder()
+                .restaurant(restaurant)
+                .name("Margherita Pizza")
+                .price(new BigDecimal("299.00"))
+                .build());
+    }
+
+    @Test
+    void testUpdateIsVisibleToNextRead() {
+
+        assertEquals(new BigDecimal("299.00"), menu().get(0).getPrice());
+        assertNotNull(menus().get(restaurant.getId()));
+
+        menuItemService.update(pizza.getId(), request(null, new BigDecimal("349.00")), OWNER_ID);
+
+        assertEquals(new BigDecimal("349.00"), menu().get(0).getPrice());
+    }
+
+    @Test
+    void testCreateAndDeleteAreVisibleToNextRead() {
+
+        assertEquals(1, menu().size());
+
+        MenuItemResponse garlicBread = menuItemService.create(restaurant.getId(), request("Garlic Bread", new BigDecimal("99.00")), OWNER_ID);
+        assertEquals(2, menu().size());
+
+        menuItemService.delete(garlicBread.getId(), OWNER_ID);
+        assertEquals(List.of("Margherita Pizza"), menu().stream().map(MenuItemResponse::getName).toList());
+    }
+
+    @Test
+    void testEvictionWaitsForCommit() {
+
+        menu();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            menuItemService.update(pizza.getId(), request("Pizza", null), OWNER_ID);
+            // A reader caching now would still see the old row, so the entry must outlive the transaction
+            assertNotNull(menus().get(restaurant.getId()));
+        });
+
+        assertNull(menus().get(restaurant.getId()));
+    }
+
+    @Test
+    void testRolledBackChangeKeepsCachedMenu() {
+
+        menu();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            menuItemService.update(pizza.getId(), request("Pizza", null), OWNER_ID);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(menus().get(restaurant.getId()));
+        assertEquals("Margherita Pizza", menu().get(0).getName());
+    }
+
+    private List<MenuItemResponse> menu() {
+        return menuItemService.getByRestaurant(restaurant.getId());
+    }
+
+    private MenuItemRequest request(String name, BigDecimal price) {
+        MenuItemRequest request = new MenuItemRequest();
+        request.setName(name);
+        request.setPrice(price);
+        return request;
+    }
+
+    private Cache menus() {
+        return cacheManager.getCache("menus");
+    }
+
+    @TestConfiguration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("menus");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.common.cache.CacheInvalidationBus;
+import com.fooddelivery.common.cache.LocalCacheInvalidationBus;
+import com.fooddelivery.restaurant.dto.MenuItemRequest;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs MenuSnapshotRegistry against an in-memory database, committing each MenuItemService call,
+ * to check that pricing snapshots follow committed menu changes and carry their menu version.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:menusnapshot;MODE=PostgreSQL",
+        "app.cache.invalidation=local"
+})
+@Import({MenuItemService.class, MenuSnapshotRegistry.class, LocalCacheInvalidationBus.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MenuSnapshotRegistryTest {
+
+    private static final long OWNER_ID = 7L;
+
+    @Autowired
+    private MenuSnapshotRegistry registry;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Restaurant restaurant;
+    private MenuItem pizza;
+
+    @BeforeEach
+    void setUp() {
+
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(OWNER_ID)
+                .build());
+        pizza = menuItemRepository.save(MenuItem.builder()
+                .restaurant(restaurant)
+                .name("Margherita Pizza")
+                .price(new BigDecimal("299.50"))
+                .build());
+    }
+
+    @Test
+    void testSnapshotHoldsPricesInCents() {
+
+        MenuSnapshot menu = registry.get(restaurant.getId(), 0L);
+        int index = menu.indexOf(pizza.getId());
+
+        assertEquals(0L, menu.getVersion());
+        assertEquals(29950L, menu.priceCents(index));
+        assertEquals("Margherita Pizza", menu.name(index));
+        assertTrue(menu.isAvailable(index));
+        assertTrue(menu.indexOf(pizza.getId() + 1000) < 0);
+    }
+
+    @Test
+    void testCommittedChangeRebuildsSnapshotWithNextVersion() {
+
+        MenuSnapshot before = registry.get(restaurant.getId(), 0L);
+
+        menuItemService.update(pizza.getId(), request(null, new BigDecimal("349.00")), OWNER_ID);
+        menuItemService.create(restaurant.getId(), request("Garlic Bread", new BigDecimal("99.00")), OWNER_ID);
+
+        MenuSnapshot after = registry.get(restaurant.getId(), 0L);
+        assertEquals(29950L, before.priceCents(before.indexOf(pizza.getId())));
+        assertEquals(34900L, after.priceCents(after.indexOf(pizza.getId())));
+        assertEquals(2, after.size());
+        assertEquals(2L, after.getVersion());
+    }
+
+    @Test
+    void testRolledBackChangeKeepsSnapshot() {
+
+        MenuSnapshot before = registry.get(restaurant.getId(), 0L);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            menuItemService.update(pizza.getId(), request(null, new BigDecimal("349.00")), OWNER_ID);
+            status.setRollbackOnly();
+        });
+
+        assertSame(before, registry.get(restaurant.getId(), 0L));
+    }
+
+    @Test
+    void testRemoteMenuEvictionDropsSnapshot() {
+
+        MenuSnapshot before = registry.get(restaurant.getId(), 0L);
+
+        invalidationBus.publish("menus", String.valueOf(restaurant.getId()));
+
+        assertNotSame(before, registry.get(restaurant.getId(), 0L));
+    }
+
+    @Test
+    void testSnapshotBehindRequestedVersionIsRebuilt() {
+
+        MenuSnapshot before = registry.get(restaurant.getId(), 0L);
+
+        // Another instance bumped the version and its invalidation never arrived here
+        restaurantRepository.findById(restaurant.getId()).ifPresent(r -> {
+            r.setMenuVersion(3L);
+            restaurantRepository.save(r);
+        });
+
+        assertSame(before, registry.get(restaurant.getId(), 0L));
+        assertEquals(3L, registry.get(restaurant.getId(), 3L).getVersion());
+    }
+
+    @Test
+    void testExpiredSnapshotIsRebuilt() {
+
+        MenuSnapshotRegistry expiring = new MenuSnapshotRegistry(menuItemRepository, restaurantRepository,
+                transactionManager, invalidationBus, 100, Duration.ZERO);
+
+        assertNotSame(expiring.get(restaurant.getId(), 0L), expiring.get(restaurant.getId(), 0L));
+    }
+
+    private MenuItemRequest request(String name, BigDecimal price) {
+        MenuItemRequest request = new MenuItemRequest();
+        request.setName(name);
+        request.setPrice(price);
+        return request;
+    }
+}
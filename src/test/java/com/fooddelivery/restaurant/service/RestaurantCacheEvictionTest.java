@@ -0,0 +1,141 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.RestaurantRequest;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.RestaurantCacheInvalidator;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.CatalogSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs RestaurantService against an in-memory database with caching on, committing each call,
+ * to check that a cached restaurant is only evicted once its change has committed.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:restaurantcache;MODE=PostgreSQL"
+})
+@Import({RestaurantService.class, RestaurantCacheInvalidator.class, RestaurantCacheEvictionTest.CachingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RestaurantCacheEvictionTest {
+
+    private static final long OWNER_ID = 7L;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private CatalogSearchIndex searchIndex;
+
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+
+        restaurantRepository.deleteAll();
+        restaurants().clear();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Pizza Palace")
+                .address("1 Food Street")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .ownerId(OWNER_ID)
+                .build());
+    }
+
+    @Test
+    void testUpdateIsVisibleToNextRead() {
+
+        assertEquals("Pizza Palace", restaurantService.getById(restaurant.getId()).getName());
+
+        restaurantService.update(restaurant.getId(), request("Pizza House"), OWNER_ID);
+
+        assertEquals("Pizza House", restaurantService.getById(restaurant.getId()).getName());
+    }
+
+    @Test
+    void testReadBeforeCommitCannotRecacheOldRestaurant() {
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            restaurantService.update(restaurant.getId(), request("Pizza House"), OWNER_ID);
+            // Another request, on its own connection, still reads the committed row and caches it
+            RestaurantResponse concurrent = CompletableFuture
+                    .supplyAsync(() -> restaurantService.getById(restaurant.getId()))
+                    .join();
+            assertEquals("Pizza Palace", concurrent.getName());
+        });
+
+        assertNull(restaurants().get(restaurant.getId()));
+        assertEquals("Pizza House", restaurantService.getById(restaurant.getId()).getName());
+    }
+
+    @Test
+    void testRolledBackChangeKeepsCachedRestaurant() {
+
+        restaurantService.getById(restaurant.getId());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            restaurantService.update(restaurant.getId(), request("Pizza House"), OWNER_ID);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(restaurants().get(restaurant.getId()));
+        assertEquals("Pizza Palace", restaurantService.getById(restaurant.getId()).getName());
+    }
+
+    private RestaurantRequest request(String name) {
+        RestaurantRequest request = new RestaurantRequest();
+        request.setName(name);
+        return request;
+    }
+
+    private Cache restaurants() {
+        return cacheManager.getCache("restaurants");
+    }
+
+    @TestConfiguration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("restaurants");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.common.enums.RestaurantStatus;
+import com.fooddelivery.restaurant.dto.RestaurantResponse;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @InjectMocks
+    private RestaurantService restaurantService;
+
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+
+        restaurant = Restaurant.builder()
+                .name("Test Restaurant")
+                .address("1 Test Rd")
+                .city("Mumbai")
+                .pincode("400001")
+                .phone("9876543210")
+                .status(RestaurantStatus.ACTIVE)
+                .ownerId(5L)
+                .deliveryFee(BigDecimal.valueOf(30))
+                .build();
+
+        restaurant.setId(1L);
+    }
+
+    @Test
+    void testGetByOwner_PagesInRepository() {
+
+        Pageable pageable = PageRequest.of(3, 20, Sort.by("name"));
+        when(restaurantRepository.findByOwnerId(5L, pageable))
+                .thenReturn(new PageImpl<>(List.of(restaurant), pageable, 10_000));
+
+        Page<RestaurantResponse> page = restaurantService.getByOwner(5L, pageable);
+
+        assertEquals(10_000, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals("Test Restaurant", page.getContent().get(0).getName());
+        verify(restaurantRepository, never()).findByOwnerId(anyLong());
+    }
+}